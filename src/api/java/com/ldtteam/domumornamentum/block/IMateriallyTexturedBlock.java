@@ -31,6 +31,17 @@ public interface IMateriallyTexturedBlock
     @NotNull
     Collection<IMateriallyTexturedBlockComponent> getComponents();
 
+    /**
+     * The component whose material determines the physical properties of the block, like its explosion resistance, hardness and sound.
+     *
+     * @return The main component, by default the first component.
+     */
+    @NotNull
+    default IMateriallyTexturedBlockComponent getMainComponent()
+    {
+        return getComponents().iterator().next();
+    }
+
     @NotNull
     default Collection<FinishedRecipe> getValidCutterRecipes() {
         return Lists.newArrayList(
@@ -84,6 +95,6 @@ public interface IMateriallyTexturedBlock
             final Block texture = candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
             textureData.put(component.getId(), texture);
         }
-        return new MaterialTextureData(textureData);
+        return MaterialTextureData.of(textureData);
     }
 }
@@ -1,31 +1,116 @@
 package com.ldtteam.domumornamentum.client.model.data;
 
-import com.google.common.collect.Maps;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
-import net.minecraftforge.common.util.INBTSerializable;
 import net.minecraftforge.registries.ForgeRegistries;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-public class MaterialTextureData implements INBTSerializable<CompoundTag>
+/**
+ * Immutable material data of a materially textured block.
+ * The blocks are stored in an array indexed by a global component index, and equal instances are interned,
+ * so that all holders of the same material combination share a single instance.
+ * <p>
+ * Material data can not be changed once created. Use {@link #of(Map)} to create it and {@link #deserializeFromNBT(CompoundTag)} to read it,
+ * instead of the former mutable constructors and {@code deserializeNBT}.
+ */
+public final class MaterialTextureData
 {
-    public static final MaterialTextureData EMPTY = new MaterialTextureData();
+    private static final Map<ResourceLocation, Integer> COMPONENT_INDICES = new ConcurrentHashMap<>();
+    private static final List<ResourceLocation>         COMPONENTS        = new CopyOnWriteArrayList<>();
 
-    private final Map<ResourceLocation, Block> texturedComponents;
+    private static final Interner<MaterialTextureData> INTERNER = Interners.newWeakInterner();
 
-    public MaterialTextureData()
+    public static final MaterialTextureData EMPTY = INTERNER.intern(new MaterialTextureData(new Block[0]));
+
+    /**
+     * The blocks of the textured components, indexed by their component index. Contains no trailing null values.
+     */
+    private final Block[] blocks;
+    private final int hashCode;
+    private final Map<ResourceLocation, Block> texturedComponents = new TexturedComponentsView();
+
+    private MaterialTextureData(final Block[] blocks)
     {
-        this.texturedComponents = Maps.newHashMap();
+        this.blocks = blocks;
+        this.hashCode = Arrays.hashCode(blocks);
     }
 
-    public MaterialTextureData(final Map<ResourceLocation, Block> texturedComponents) {
-        this.texturedComponents = texturedComponents;
+    /**
+     * Gets the canonical material data for the given components.
+     *
+     * @param texturedComponents The blocks to use for each component.
+     * @return The interned material data.
+     */
+    public static MaterialTextureData of(final Map<ResourceLocation, Block> texturedComponents)
+    {
+        if (texturedComponents.isEmpty())
+            return EMPTY;
+
+        Block[] blocks = new Block[COMPONENTS.size()];
+        for (final Map.Entry<ResourceLocation, Block> entry : texturedComponents.entrySet())
+        {
+            if (entry.getValue() == null)
+                continue;
+
+            final int index = getComponentIndex(entry.getKey());
+            if (index >= blocks.length)
+                blocks = Arrays.copyOf(blocks, index + 1);
+
+            blocks[index] = entry.getValue();
+        }
+
+        return intern(blocks);
     }
 
+    private static MaterialTextureData intern(final Block[] blocks)
+    {
+        int length = blocks.length;
+        while (length > 0 && blocks[length - 1] == null)
+            length--;
+
+        if (length == 0)
+            return EMPTY;
+
+        return INTERNER.intern(new MaterialTextureData(length == blocks.length ? blocks : Arrays.copyOf(blocks, length)));
+    }
+
+    private static int getComponentIndex(final ResourceLocation component)
+    {
+        final Integer index = COMPONENT_INDICES.get(component);
+        if (index != null)
+            return index;
+
+        synchronized (COMPONENTS)
+        {
+            return COMPONENT_INDICES.computeIfAbsent(component, key -> {
+                COMPONENTS.add(key);
+                return COMPONENTS.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * A read-only map view of the textured components.
+     *
+     * @return The component id to block map.
+     */
     public Map<ResourceLocation, Block> getTexturedComponents()
     {
         return texturedComponents;
@@ -42,16 +127,15 @@ public class MaterialTextureData implements INBTSerializable<CompoundTag>
         {
             return false;
         }
-        return Objects.equals(getTexturedComponents(), that.getTexturedComponents());
+        return hashCode == that.hashCode && Arrays.equals(blocks, that.blocks);
     }
 
     @Override
     public int hashCode()
     {
-        return Objects.hash(getTexturedComponents());
+        return hashCode;
     }
 
-    @Override
     public CompoundTag serializeNBT()
     {
         final CompoundTag nbt = new CompoundTag();
@@ -64,33 +148,30 @@ public class MaterialTextureData implements INBTSerializable<CompoundTag>
         return nbt;
     }
 
-    @Override
-    public void deserializeNBT(final CompoundTag nbt)
-    {
-        this.texturedComponents.clear();
-
-        nbt.getAllKeys().forEach(key -> {
-            final ResourceLocation name = new ResourceLocation(nbt.getString(key));
-
-            if (ForgeRegistries.BLOCKS.getValue(name) != Blocks.AIR)
-            {
-                this.texturedComponents.put(new ResourceLocation(key), ForgeRegistries.BLOCKS.getValue(name));
-            }
-        });
-    }
-
     public static MaterialTextureData deserializeFromNBT(final CompoundTag nbt) {
         if (nbt.getAllKeys().isEmpty())
             return EMPTY;
 
-        final MaterialTextureData newData = new MaterialTextureData();
-        newData.deserializeNBT(nbt);
-        return newData;
+        Block[] blocks = new Block[COMPONENTS.size()];
+        for (final String key : nbt.getAllKeys())
+        {
+            final Block block = ForgeRegistries.BLOCKS.getValue(new ResourceLocation(nbt.getString(key)));
+            if (block == null || block == Blocks.AIR)
+                continue;
+
+            final int index = getComponentIndex(new ResourceLocation(key));
+            if (index >= blocks.length)
+                blocks = Arrays.copyOf(blocks, index + 1);
+
+            blocks[index] = block;
+        }
+
+        return intern(blocks);
     }
 
     public boolean isEmpty()
     {
-        return this.equals(EMPTY);
+        return this.blocks.length == 0;
     }
 
     @Override
@@ -100,4 +181,76 @@ public class MaterialTextureData implements INBTSerializable<CompoundTag>
                  "texturedComponents=" + texturedComponents +
                  '}';
     }
+
+    private final class TexturedComponentsView extends AbstractMap<ResourceLocation, Block>
+    {
+        @Override
+        public boolean containsKey(final Object key)
+        {
+            return get(key) != null;
+        }
+
+        @Override
+        @Nullable
+        public Block get(final Object key)
+        {
+            if (!(key instanceof ResourceLocation))
+                return null;
+
+            final Integer index = COMPONENT_INDICES.get(key);
+            return index == null || index >= blocks.length ? null : blocks[index];
+        }
+
+        @Override
+        public @NotNull Set<Entry<ResourceLocation, Block>> entrySet()
+        {
+            return new AbstractSet<>()
+            {
+                @Override
+                public @NotNull Iterator<Entry<ResourceLocation, Block>> iterator()
+                {
+                    return new Iterator<>()
+                    {
+                        private int index = advance(0);
+
+                        private int advance(int from)
+                        {
+                            while (from < blocks.length && blocks[from] == null)
+                                from++;
+                            return from;
+                        }
+
+                        @Override
+                        public boolean hasNext()
+                        {
+                            return index < blocks.length;
+                        }
+
+                        @Override
+                        public Entry<ResourceLocation, Block> next()
+                        {
+                            if (!hasNext())
+                                throw new NoSuchElementException();
+
+                            final Entry<ResourceLocation, Block> entry = new SimpleImmutableEntry<>(COMPONENTS.get(index), blocks[index]);
+                            index = advance(index + 1);
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size()
+                {
+                    int size = 0;
+                    for (final Block block : blocks)
+                    {
+                        if (block != null)
+                            size++;
+                    }
+                    return size;
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,56 @@
+package com.ldtteam.domumornamentum.client.model.data;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Holds the models which were resolved for the material data of a single block entity, so that they do not need to be looked up again for every quad request.
+ * A new handle needs to be created whenever the material data of the block entity changes.
+ * <p>
+ * The entries are keyed by identity on the model which resolved them and the render type they were resolved for.
+ * The types are kept opaque, since block entities also exist on dedicated servers.
+ */
+public final class ResolvedModelHandle
+{
+    private record Entry(Object owner, Object layer, Object resolved) { }
+
+    private volatile Entry[] entries = new Entry[0];
+
+    /**
+     * Gets the model resolved by the given owner for the given layer.
+     *
+     * @param owner The model which resolved the model.
+     * @param layer The render type the model was resolved for.
+     * @param <T>   The type of the resolved model.
+     * @return The resolved model, or null if it was not resolved yet.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object owner, final Object layer)
+    {
+        for (final Entry entry : entries)
+        {
+            if (entry.owner() == owner && entry.layer() == layer)
+                return (T) entry.resolved();
+        }
+
+        return null;
+    }
+
+    /**
+     * Stores the model resolved by the given owner for the given layer.
+     * Concurrent stores may drop each other, in which case the model is simply resolved again on its next request.
+     *
+     * @param owner    The model which resolved the model.
+     * @param layer    The render type the model was resolved for.
+     * @param resolved The resolved model.
+     */
+    public void put(final Object owner, final Object layer, final Object resolved)
+    {
+        final Entry[] current = entries;
+        final Entry[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = new Entry(owner, layer, resolved);
+        entries = updated;
+    }
+}
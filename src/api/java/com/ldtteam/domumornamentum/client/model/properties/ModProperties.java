@@ -1,6 +1,7 @@
 package com.ldtteam.domumornamentum.client.model.properties;
 
 import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
+import com.ldtteam.domumornamentum.client.model.data.ResolvedModelHandle;
 import net.minecraftforge.client.model.data.ModelProperty;
 
 public class ModProperties
@@ -12,4 +13,6 @@ public class ModProperties
     }
 
     public static ModelProperty<MaterialTextureData> MATERIAL_TEXTURE_PROPERTY = new ModelProperty<>();
+
+    public static ModelProperty<ResolvedModelHandle> RESOLVED_MODEL_PROPERTY = new ModelProperty<>();
 }
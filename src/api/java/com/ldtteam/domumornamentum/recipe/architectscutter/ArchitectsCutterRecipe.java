@@ -120,7 +120,7 @@ public class ArchitectsCutterRecipe implements Recipe<Container>
             textureData.put(component.getId(), blockInSlot);
         }
 
-        final MaterialTextureData materialTextureData = new MaterialTextureData(textureData);
+        final MaterialTextureData materialTextureData = MaterialTextureData.of(textureData);
 
         final CompoundTag textureNbt = materialTextureData.serializeNBT();
 
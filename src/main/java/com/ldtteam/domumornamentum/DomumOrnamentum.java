@@ -3,12 +3,17 @@ package com.ldtteam.domumornamentum;
 import com.ldtteam.domumornamentum.api.DomumOrnamentumAPI;
 import com.ldtteam.domumornamentum.block.ModBlocks;
 import com.ldtteam.domumornamentum.block.ModCreativeTabs;
+import com.ldtteam.domumornamentum.config.ClientConfig;
+import com.ldtteam.domumornamentum.config.CommonConfig;
 import com.ldtteam.domumornamentum.container.ModContainerTypes;
 import com.ldtteam.domumornamentum.entity.block.ModBlockEntityTypes;
+import com.ldtteam.domumornamentum.network.ModNetwork;
 import com.ldtteam.domumornamentum.recipe.ModRecipeSerializers;
 import com.ldtteam.domumornamentum.recipe.ModRecipeTypes;
 import com.ldtteam.domumornamentum.util.Constants;
+import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.config.ModConfig;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 
 @Mod(Constants.MOD_ID)
@@ -24,5 +29,8 @@ public class DomumOrnamentum
         ModRecipeTypes.RECIPES.register(FMLJavaModLoadingContext.get().getModEventBus());
         ModRecipeSerializers.SERIALIZERS.register(FMLJavaModLoadingContext.get().getModEventBus());
         ModCreativeTabs.TAB_REG.register(FMLJavaModLoadingContext.get().getModEventBus());
+        ModLoadingContext.get().registerConfig(ModConfig.Type.CLIENT, ClientConfig.SPEC);
+        ModLoadingContext.get().registerConfig(ModConfig.Type.COMMON, CommonConfig.SPEC);
+        ModNetwork.register();
     }
 }
@@ -1,6 +1,7 @@
 package com.ldtteam.domumornamentum.block;
 
 import com.ldtteam.domumornamentum.block.interfaces.IDOBlock;
+import com.ldtteam.domumornamentum.util.ShapeTable;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.resources.ResourceLocation;
@@ -35,10 +36,13 @@ public abstract class AbstractPanelBlockTrapdoor<B extends AbstractPanelBlockTra
     protected static final VoxelShape BOTTOM_AABB     = Block.box(0.0D, 0.0D, 0.0D, 16.0D, 3.0D, 16.0D);
     protected static final VoxelShape TOP_AABB        = Block.box(0.0D, 13.0D, 0.0D, 16.0D, 16.0D, 16.0D);
 
+    private final ShapeTable shapes;
+
     public AbstractPanelBlockTrapdoor(final Properties properties)
     {
         super(properties);
         this.registerDefaultState(this.stateDefinition.any().setValue(FACING, Direction.NORTH).setValue(WATERLOGGED, Boolean.FALSE));
+        this.shapes = ShapeTable.of(this, AbstractPanelBlockTrapdoor::computeShape);
     }
 
     @Override
@@ -50,6 +54,11 @@ public abstract class AbstractPanelBlockTrapdoor<B extends AbstractPanelBlockTra
     @NotNull
     @Override
     public VoxelShape getShape(BlockState state, @NotNull BlockGetter level, @NotNull BlockPos pos, @NotNull CollisionContext context)
+    {
+        return shapes.get(state);
+    }
+
+    private static VoxelShape computeShape(final BlockState state)
     {
         if (!state.getValue(OPEN))
         {
@@ -2,6 +2,7 @@ package com.ldtteam.domumornamentum.block;
 
 import com.ldtteam.domumornamentum.block.interfaces.IDOBlock;
 import com.ldtteam.domumornamentum.block.types.PostType;
+import com.ldtteam.domumornamentum.util.ShapeTable;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.resources.ResourceLocation;
@@ -68,13 +69,13 @@ public abstract class AbstractPostBlock<B extends AbstractPostBlock<B>> extends
             Block.box(12.75, 0.75, 0, 15.25, 3.25, 16),
             Block.box(12.75, 12.75, 0, 15.25, 15.25, 16));
 
-
+    private final ShapeTable shapes;
 
     public AbstractPostBlock(final Properties properties)
     {
         super(properties);
         this.registerDefaultState(this.stateDefinition.any().setValue(FACING, Direction.NORTH).setValue(WATERLOGGED, Boolean.FALSE).setValue(UPRIGHT, true));
-
+        this.shapes = ShapeTable.of(this, AbstractPostBlock::computeShape);
     }
 
 
@@ -88,6 +89,11 @@ public abstract class AbstractPostBlock<B extends AbstractPostBlock<B>> extends
     @NotNull
     @Override
     public VoxelShape getShape(BlockState state, @NotNull BlockGetter level, @NotNull BlockPos pos, @NotNull CollisionContext context)
+    {
+        return shapes.get(state);
+    }
+
+    private static VoxelShape computeShape(final BlockState state)
     {
         if (state.getValue(TYPE) == PostType.DOUBLE){
             switch (state.getValue(FACING)){
@@ -172,7 +178,7 @@ public abstract class AbstractPostBlock<B extends AbstractPostBlock<B>> extends
             case DOWN:
                 return Y_AXIS_AABB;
         }
-        return null;
+        return Y_AXIS_AABB;
     }
 
     @Override
@@ -1,14 +1,19 @@
 package com.ldtteam.domumornamentum.block;
 
 import com.google.common.collect.Lists;
+import net.minecraft.core.Holder;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.tags.TagKey;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.item.BlockItem;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.registries.ForgeRegistries;
 
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -28,19 +33,22 @@ public final class MateriallyTexturedBlockManager implements IMateriallyTextured
     private List<IMateriallyTexturedBlock> blocks = Lists.newArrayList();
     private int maxTexturableComponentCount = -1;
 
+    /**
+     * Per slot, the distinct material tags of the components in that slot.
+     */
+    private List<Set<TagKey<Block>>> slotMaterialTags = null;
+
+    /**
+     * Per slot, the registry ids of the blocks which are a valid material in that slot. Built from the current tags, dropped when they change.
+     */
+    private volatile BitSet[] slotMaterials = null;
+
     @Override
     public int getMaxTexturableComponentCount() {
         if (this.maxTexturableComponentCount >= 0)
             return this.maxTexturableComponentCount;
 
-        if (this.blocks.isEmpty()) {
-            this.blocks = StreamSupport.stream(ForgeRegistries.BLOCKS.spliterator(), false)
-              .filter(IMateriallyTexturedBlock.class::isInstance)
-              .map(IMateriallyTexturedBlock.class::cast)
-              .collect(Collectors.toList());
-        }
-
-        this.maxTexturableComponentCount = this.blocks.stream()
+        this.maxTexturableComponentCount = getBlocks().stream()
           .map(IMateriallyTexturedBlock::getComponents)
           .mapToInt(Collection::size)
           .max()
@@ -62,11 +70,71 @@ public final class MateriallyTexturedBlockManager implements IMateriallyTextured
         if (slotIndex >= getMaxTexturableComponentCount())
             return false;
 
-        return this.blocks.stream()
-                 .map(IMateriallyTexturedBlock::getComponents)
-                 .filter(c -> c.size() > slotIndex)
-                 .map(ArrayList::new)
-                 .map(l -> l.get(slotIndex))
-                 .anyMatch(c -> block.defaultBlockState().is(c.getValidSkins()));
+        return getSlotMaterials()[slotIndex].get(BuiltInRegistries.BLOCK.getId(block));
+    }
+
+    /**
+     * Drops the valid materials of all slots, needs to be called when the tags are reloaded.
+     */
+    public void onTagsUpdated() {
+        this.slotMaterials = null;
+    }
+
+    private List<IMateriallyTexturedBlock> getBlocks() {
+        if (this.blocks.isEmpty()) {
+            this.blocks = StreamSupport.stream(ForgeRegistries.BLOCKS.spliterator(), false)
+              .filter(IMateriallyTexturedBlock.class::isInstance)
+              .map(IMateriallyTexturedBlock.class::cast)
+              .collect(Collectors.toList());
+        }
+
+        return this.blocks;
+    }
+
+    private List<Set<TagKey<Block>>> getSlotMaterialTags() {
+        if (this.slotMaterialTags == null) {
+            final List<Set<TagKey<Block>>> slotTags = Lists.newArrayList();
+            for (int slot = 0; slot < getMaxTexturableComponentCount(); slot++)
+            {
+                slotTags.add(new HashSet<>());
+            }
+
+            for (final IMateriallyTexturedBlock block : getBlocks())
+            {
+                int slot = 0;
+                for (final IMateriallyTexturedBlockComponent component : block.getComponents())
+                {
+                    slotTags.get(slot++).add(component.getValidSkins());
+                }
+            }
+
+            this.slotMaterialTags = slotTags;
+        }
+
+        return this.slotMaterialTags;
+    }
+
+    private BitSet[] getSlotMaterials() {
+        BitSet[] materials = this.slotMaterials;
+        if (materials == null) {
+            final List<Set<TagKey<Block>>> slotTags = getSlotMaterialTags();
+            materials = new BitSet[slotTags.size()];
+            for (int slot = 0; slot < materials.length; slot++)
+            {
+                final BitSet slotMaterials = new BitSet();
+                for (final TagKey<Block> tag : slotTags.get(slot))
+                {
+                    for (final Holder<Block> holder : BuiltInRegistries.BLOCK.getTagOrEmpty(tag))
+                    {
+                        slotMaterials.set(BuiltInRegistries.BLOCK.getId(holder.value()));
+                    }
+                }
+                materials[slot] = slotMaterials;
+            }
+
+            this.slotMaterials = materials;
+        }
+
+        return materials;
     }
 }
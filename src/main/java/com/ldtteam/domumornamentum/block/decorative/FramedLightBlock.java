@@ -11,6 +11,7 @@ import com.ldtteam.domumornamentum.block.components.SimpleRetexturableComponent;
 import com.ldtteam.domumornamentum.block.types.FramedLightType;
 import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
 import com.ldtteam.domumornamentum.entity.block.MateriallyTexturedBlockEntity;
+import com.ldtteam.domumornamentum.entity.block.ResolvedMaterial;
 import com.ldtteam.domumornamentum.recipe.ModRecipeSerializers;
 import com.ldtteam.domumornamentum.tag.ModTags;
 import com.ldtteam.domumornamentum.util.BlockUtils;
@@ -90,20 +91,18 @@ public class FramedLightBlock extends AbstractBlock<FramedLightBlock> implements
 
     @Override
     public float getExplosionResistance(BlockState state, BlockGetter level, BlockPos pos, Explosion explosion) {
-        BlockEntity be = level.getBlockEntity(pos);
-        if (be instanceof MateriallyTexturedBlockEntity mtbe) {
-            Block block = mtbe.getTextureData().getTexturedComponents().get(COMPONENTS.get(0).getId());
-            return block.getExplosionResistance(state, level, pos, explosion);
+        final ResolvedMaterial material = BlockUtils.getMainMaterial(level, pos);
+        if (material != null) {
+            return material.block().getExplosionResistance(state, level, pos, explosion);
         }
         return super.getExplosionResistance(state, level, pos, explosion);
     }
 
     @Override
     public float getDestroyProgress(BlockState state, Player player, BlockGetter level, BlockPos pos) {
-        BlockEntity be = level.getBlockEntity(pos);
-        if (be instanceof MateriallyTexturedBlockEntity mtbe) {
-            Block block = mtbe.getTextureData().getTexturedComponents().get(COMPONENTS.get(0).getId());
-            return super.getDestroyProgress(block.defaultBlockState(), player, level, pos);
+        final ResolvedMaterial material = BlockUtils.getMainMaterial(level, pos);
+        if (material != null) {
+            return super.getDestroyProgress(material.state(), player, level, pos);
         }
         return super.getDestroyProgress(state, player, level, pos);
     }
@@ -232,13 +231,9 @@ public class FramedLightBlock extends AbstractBlock<FramedLightBlock> implements
 
     @Override
     public SoundType getSoundType(BlockState state, LevelReader level, BlockPos pos, @Nullable Entity entity) {
-        BlockEntity be = level.getBlockEntity(pos);
-        if (be instanceof MateriallyTexturedBlockEntity mtbe) {
-            Block block = mtbe.getTextureData().getTexturedComponents().get(COMPONENTS.get(0).getId());
-            if (block != null)
-            {
-                return block.getSoundType(state, level, pos, entity);
-            }
+        final ResolvedMaterial material = BlockUtils.getMainMaterial(level, pos);
+        if (material != null) {
+            return material.block().getSoundType(state, level, pos, entity);
         }
         return super.getSoundType(state, level, pos, entity);
     }
@@ -8,10 +8,12 @@ import com.ldtteam.domumornamentum.block.components.SimpleRetexturableComponent;
 import com.ldtteam.domumornamentum.block.types.PillarShapeType;
 import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
 import com.ldtteam.domumornamentum.entity.block.MateriallyTexturedBlockEntity;
+import com.ldtteam.domumornamentum.entity.block.ResolvedMaterial;
 import com.ldtteam.domumornamentum.recipe.ModRecipeSerializers;
 import com.ldtteam.domumornamentum.tag.ModTags;
 import com.ldtteam.domumornamentum.util.BlockUtils;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
 import net.minecraft.core.NonNullList;
 import net.minecraft.data.recipes.FinishedRecipe;
 import net.minecraft.nbt.CompoundTag;
@@ -26,6 +28,7 @@ import net.minecraft.world.item.crafting.RecipeSerializer;
 import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.Explosion;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
 import net.minecraft.world.level.LevelReader;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
@@ -36,7 +39,6 @@ import net.minecraft.world.level.block.state.BlockBehaviour;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.StateDefinition;
 import net.minecraft.world.level.block.state.properties.EnumProperty;
-import net.minecraft.world.level.material.FluidState;
 import net.minecraft.world.level.material.MapColor;
 import net.minecraft.world.level.storage.loot.LootParams;
 import net.minecraft.world.phys.HitResult;
@@ -112,27 +114,25 @@ public class PillarBlock extends AbstractBlock<PillarBlock> implements IMaterial
 
     @Override
     public float getExplosionResistance(BlockState state, BlockGetter level, BlockPos pos, Explosion explosion) {
-        BlockEntity be = level.getBlockEntity(pos);
-        if (be instanceof MateriallyTexturedBlockEntity mtbe) {
-            Block block = mtbe.getTextureData().getTexturedComponents().get(COMPONENTS.get(0).getId());
-            return block.getExplosionResistance(state, level, pos, explosion);
+        final ResolvedMaterial material = BlockUtils.getMainMaterial(level, pos);
+        if (material != null) {
+            return material.block().getExplosionResistance(state, level, pos, explosion);
         }
         return super.getExplosionResistance(state, level, pos, explosion);
     }
 
     @Override
     public float getDestroyProgress(BlockState state, Player player, BlockGetter level, BlockPos pos) {
-        BlockEntity be = level.getBlockEntity(pos);
-        if (be instanceof MateriallyTexturedBlockEntity mtbe) {
-            Block block = mtbe.getTextureData().getTexturedComponents().get(COMPONENTS.get(0).getId());
-            return super.getDestroyProgress(block.defaultBlockState(), player, level, pos);
+        final ResolvedMaterial material = BlockUtils.getMainMaterial(level, pos);
+        if (material != null) {
+            return super.getDestroyProgress(material.state(), player, level, pos);
         }
         return super.getDestroyProgress(state, player, level, pos);
     }
 
     /**
-     * Finds the correct blockstate on placement by checking the blocks above and below the clicked position from the context. Then calls updateAbove and upDateBelow
-     * to correct their blockstates based on their upper/lower neighbor and this block.
+     * Finds the correct blockstate on placement by checking the blocks above and below the clicked position from the context.
+     * The neighbors correct their own blockstates through {@link #updateShape(BlockState, Direction, BlockState, LevelAccessor, BlockPos, BlockPos)}.
      * @param context The world and location data for the block's placement.
      * @return The final blockstate for placement
      */
@@ -141,149 +141,74 @@ public class PillarBlock extends AbstractBlock<PillarBlock> implements IMaterial
     {
         Level level = context.getLevel();
         BlockPos blockPos = context.getClickedPos();
-        BlockPos blockAbove = blockPos.above();
-        BlockPos blockBelow = blockPos.below();
-        BlockState stateAbove = level.getBlockState(blockAbove);
-        BlockState stateBelow = level.getBlockState(blockBelow);
-
-        Boolean base = this.isMatchingPillar(stateBelow);
-        Boolean capital = this.isMatchingPillar(stateAbove);
-        if (base){
-            updateBelow(level, blockBelow,stateBelow);
-        }
-        if (capital){
-            updateAbove(level,blockAbove, stateAbove);
-        }
-        return updateShape(this.defaultBlockState(), base, capital);
-
+        boolean base = this.isMatchingPillar(level.getBlockState(blockPos.below()));
+        boolean capital = this.isMatchingPillar(level.getBlockState(blockPos.above()));
+        return getColumnShape(this.defaultBlockState(), base, capital);
     }
 
     /**
-     * Called to correct the blockstates of surrounding blocks when blocks are destroyed.
+     * Corrects the blockstate when the block above or below changes, which covers placement, removal and bulk placement of whole columns.
+     * The connections are encoded in the column shape, so only the changed neighbor needs to be checked, and an unchanged shape causes no further updates.
      * @param state The current blockstate.
-     * @param world The world the block is in.
+     * @param direction The direction of the changed neighbor.
+     * @param neighborState The new blockstate of the neighbor.
+     * @param level The world the block is in.
      * @param pos The location of the block in the world.
-     * @param player The destroying entity, may be null.
-     * @param willHarvest True if Block.harvestBlock will be called after this, if the return in true. Can be useful to delay the destruction of tile entities till after harvestBlock
-     * @param fluid The fluid to replace the block with if waterlogged == true.
-     * @return If true, the block will be destroyed
+     * @param neighborPos The location of the neighbor.
+     * @return The corrected blockstate.
      */
+    @NotNull
     @Override
-    public boolean onDestroyedByPlayer(BlockState state, Level world, BlockPos pos, Player player, boolean willHarvest, FluidState fluid)
+    public BlockState updateShape(
+      @NotNull BlockState state,
+      @NotNull Direction direction,
+      @NotNull BlockState neighborState,
+      @NotNull LevelAccessor level,
+      @NotNull BlockPos pos,
+      @NotNull BlockPos neighborPos)
     {
-        Comparable<PillarShapeType> column_property = state.getValue(COLUMN);
-        if (column_property == PillarShapeType.PILLAR_COLUMN)
+        if (direction.getAxis() != Direction.Axis.Y)
         {
-            if (isMatchingPillar(world.getBlockState(pos.above())) && world.getBlockState(pos.above()).getValue(COLUMN)== PillarShapeType.PILLAR_COLUMN)
-            {
-                world.setBlockAndUpdate(pos.above(),state.setValue(COLUMN,PillarShapeType.PILLAR_BASE));
-            }
-            else if (isMatchingPillar(world.getBlockState(pos.above())))
-            {
-                world.setBlockAndUpdate(pos.above(),state.setValue(COLUMN,PillarShapeType.FULL_PILLAR));
-            }
-
-            if (isMatchingPillar(world.getBlockState(pos.below())) && world.getBlockState(pos.below()).getValue(COLUMN)== PillarShapeType.PILLAR_COLUMN)
-            {
-                world.setBlockAndUpdate(pos.below(),state.setValue(COLUMN,PillarShapeType.PILLAR_CAPITAL));
-            }
-            else if (isMatchingPillar(world.getBlockState(pos.below())))
-            {
-                world.setBlockAndUpdate(pos.below(),state.setValue(COLUMN,PillarShapeType.FULL_PILLAR));
-            }
-        }
-        if (isMatchingPillar(world.getBlockState(pos.above())))
-        {
-            if (column_property == PillarShapeType.PILLAR_BASE)
-            {
-                if (world.getBlockState(pos.above()).getValue(COLUMN) == PillarShapeType.PILLAR_COLUMN)
-                {
-                    world.setBlockAndUpdate(pos.above(), state.setValue(COLUMN, PillarShapeType.PILLAR_BASE));
-                } else
-                {
-                    world.setBlockAndUpdate(pos.above(), state.setValue(COLUMN, PillarShapeType.FULL_PILLAR));
-                }
-            }
+            return super.updateShape(state, direction, neighborState, level, pos, neighborPos);
         }
-        if (isMatchingPillar(world.getBlockState(pos.below())))
-        {
-            if (column_property == PillarShapeType.PILLAR_CAPITAL)
-            {
-                if (world.getBlockState(pos.below()).getValue(COLUMN) == PillarShapeType.PILLAR_COLUMN)
-                {
-                    world.setBlockAndUpdate(pos.below(), state.setValue(COLUMN, PillarShapeType.PILLAR_CAPITAL));
-                } else
-                {
-                    world.setBlockAndUpdate(pos.below(), state.setValue(COLUMN, PillarShapeType.FULL_PILLAR));
-                }
-            }
-        }
-        return super.onDestroyedByPlayer(state, world, pos, player, willHarvest, fluid);
-    }
 
-    /**
-     * Called on block placement to update the blockstate of the neighbor below the current block.
-     * @param level The world the block is in.
-     * @param blockPos The location of the block to be updated.
-     * @param state The current blockstate.
-     */
-    private void updateBelow(Level level, BlockPos blockPos, BlockState state)
-    {
-        BlockPos checkBelow = blockPos.below();
-        if (isMatchingPillar(level.getBlockState(checkBelow)))
-        {
-            level.setBlockAndUpdate(blockPos, state.setValue(COLUMN,PillarShapeType.PILLAR_COLUMN));
-        }
-        else
-        {
-            level.setBlockAndUpdate(blockPos,state.setValue(COLUMN,PillarShapeType.PILLAR_BASE));
-        }
-    }
-    /**
-     * Called on block placement to update the blockstate of the neighbor above the current block.
-     * @param level The world the block is in.
-     * @param blockPos The location of the block to be updated.
-     * @param state The current blockstate.
-     */
-    private void updateAbove(Level level, BlockPos blockPos,BlockState state)
-    {
-        BlockPos checkAbove = blockPos.above();
-        if (isMatchingPillar(level.getBlockState(checkAbove)))
+        final PillarShapeType shape = state.getValue(COLUMN);
+        boolean base = shape == PillarShapeType.PILLAR_COLUMN || shape == PillarShapeType.PILLAR_CAPITAL;
+        boolean capital = shape == PillarShapeType.PILLAR_COLUMN || shape == PillarShapeType.PILLAR_BASE;
+        if (direction == Direction.DOWN)
         {
-            level.setBlockAndUpdate(blockPos, state.setValue(COLUMN,PillarShapeType.PILLAR_COLUMN));
+            base = isMatchingPillar(neighborState);
         }
         else
         {
-            level.setBlockAndUpdate(blockPos,state.setValue(COLUMN,PillarShapeType.PILLAR_CAPITAL));
+            capital = isMatchingPillar(neighborState);
         }
+
+        return getColumnShape(state, base, capital);
     }
 
     /**
-     * Called when block is placed to set the correct blockstate for the current block.
+     * Gets the blockstate with the column shape matching the given connections.
      * @param blockState The current blockstate.
      * @param base If true, there is a PillarBlock below this one.
      * @param capital If true, there is a PillarBlock above this one.
-     * @return The correct blockstate for placement
+     * @return The blockstate with the correct column shape.
      */
-    private BlockState updateShape(BlockState blockState, Boolean base, Boolean capital)
+    private static BlockState getColumnShape(BlockState blockState, boolean base, boolean capital)
     {
-        if (isMatchingPillar(blockState))
+        if (base && capital)
+        {
+            return blockState.setValue(COLUMN, PillarShapeType.PILLAR_COLUMN);
+        }
+        if (capital)
+        {
+            return blockState.setValue(COLUMN, PillarShapeType.PILLAR_BASE);
+        }
+        if (base)
         {
-            if (base && capital)
-            {
-                return blockState.setValue(COLUMN, PillarShapeType.PILLAR_COLUMN);
-            }
-            if (!base && capital)
-            {
-                return blockState.setValue(COLUMN, PillarShapeType.PILLAR_BASE);
-            }
-            if (base && !capital)
-            {
-                return blockState.setValue(COLUMN, PillarShapeType.PILLAR_CAPITAL);
-            }
-            blockState.setValue(COLUMN, PillarShapeType.FULL_PILLAR);
+            return blockState.setValue(COLUMN, PillarShapeType.PILLAR_CAPITAL);
         }
-        return blockState;
+        return blockState.setValue(COLUMN, PillarShapeType.FULL_PILLAR);
     }
 
     /**
@@ -365,13 +290,9 @@ public class PillarBlock extends AbstractBlock<PillarBlock> implements IMaterial
 
     @Override
     public SoundType getSoundType(BlockState state, LevelReader level, BlockPos pos, @Nullable Entity entity) {
-        BlockEntity be = level.getBlockEntity(pos);
-        if (be instanceof MateriallyTexturedBlockEntity mtbe) {
-            Block block = mtbe.getTextureData().getTexturedComponents().get(COMPONENTS.get(0).getId());
-            if (block != null)
-            {
-                return block.getSoundType(state, level, pos, entity);
-            }
+        final ResolvedMaterial material = BlockUtils.getMainMaterial(level, pos);
+        if (material != null) {
+            return material.block().getSoundType(state, level, pos, entity);
         }
         return super.getSoundType(state, level, pos, entity);
     }
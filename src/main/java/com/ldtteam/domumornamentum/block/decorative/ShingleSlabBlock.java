@@ -11,6 +11,7 @@ import com.ldtteam.domumornamentum.block.components.SimpleRetexturableComponent;
 import com.ldtteam.domumornamentum.block.types.ShingleSlabShapeType;
 import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
 import com.ldtteam.domumornamentum.entity.block.MateriallyTexturedBlockEntity;
+import com.ldtteam.domumornamentum.entity.block.ResolvedMaterial;
 import com.ldtteam.domumornamentum.entity.block.ModBlockEntityTypes;
 import com.ldtteam.domumornamentum.recipe.ModRecipeSerializers;
 import com.ldtteam.domumornamentum.tag.ModTags;
@@ -60,9 +61,6 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
-import static com.ldtteam.domumornamentum.block.types.ShingleSlabShapeType.*;
-import static net.minecraft.core.Direction.*;
-
 /**
  * Decorative block
  */
@@ -95,12 +93,9 @@ public class ShingleSlabBlock extends AbstractBlockDirectional<ShingleSlabBlock>
     private static final float RESISTANCE = 1F;
 
     /**
-     * Amount of connections with other shingle slabs.
+     * The shape of every state of the slab.
      */
-    private static final int FOUR_CONNECTIONS = 4;
-    private static final int THREE_CONNECTIONS = 3;
-    private static final int TWO_CONNECTIONS = 2;
-    private static final int ONE_CONNECTION = 1;
+    private static final VoxelShape SLAB_SHAPE = Block.box(0.0D, 0.0D, 0.0D, 15.9D, 7.9D, 15.9D);
 
     private final List<ItemStack> fillItemGroupCache = Lists.newArrayList();
 
@@ -123,7 +118,41 @@ public class ShingleSlabBlock extends AbstractBlockDirectional<ShingleSlabBlock>
             worldIn.scheduleTick(currentPos, Fluids.WATER, Fluids.WATER.getTickDelay(worldIn));
         }
 
-        return getSlabShape(stateIn, worldIn, currentPos);
+        if (HORIZONTAL_FACING.getAxis().isVertical())
+        {
+            return stateIn;
+        }
+
+        //The connections are encoded in the shape, so only the changed neighbor needs to be checked.
+        //Placement recomputes all connections, so states which were set without a neighbor update are corrected there.
+        int connections = getConnections(stateIn);
+        if (HORIZONTAL_FACINGState.getBlock() instanceof ShingleSlabBlock)
+        {
+            connections |= ShingleSlabConnections.of(HORIZONTAL_FACING);
+        }
+        else
+        {
+            connections &= ~ShingleSlabConnections.of(HORIZONTAL_FACING);
+        }
+
+        return getSlabShape(stateIn, connections);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void onPlace(@NotNull final BlockState state, @NotNull final Level worldIn, @NotNull final BlockPos pos, @NotNull final BlockState oldState, final boolean isMoving)
+    {
+        super.onPlace(state, worldIn, pos, oldState, isMoving);
+
+        //Structures, commands and other mods set the state directly, so its connections can not be trusted until they are recomputed from all neighbors.
+        if (!oldState.is(this))
+        {
+            final BlockState correctedState = getSlabShape(state, worldIn, pos);
+            if (correctedState != state)
+            {
+                worldIn.setBlock(pos, correctedState, Block.UPDATE_CLIENTS);
+            }
+        }
     }
 
     @Nullable
@@ -166,7 +195,7 @@ public class ShingleSlabBlock extends AbstractBlockDirectional<ShingleSlabBlock>
     @Override
     public VoxelShape getShape(@NotNull final BlockState state, @NotNull final BlockGetter worldIn, @NotNull final BlockPos pos, @NotNull final CollisionContext context)
     {
-        return Block.box(0.0D, 0.0D, 0.0D, 15.9D, 7.9D, 15.9D);
+        return SLAB_SHAPE;
     }
 
     /**
@@ -179,98 +208,40 @@ public class ShingleSlabBlock extends AbstractBlockDirectional<ShingleSlabBlock>
      */
     private static BlockState getSlabShape(@NotNull final BlockState state, @NotNull final LevelAccessor world, @NotNull final BlockPos position)
     {
-        final boolean north = world.getBlockState(position.north()).getBlock() instanceof ShingleSlabBlock;
-        final boolean south = world.getBlockState(position.south()).getBlock() instanceof ShingleSlabBlock;
-        final boolean east = world.getBlockState(position.east()).getBlock() instanceof ShingleSlabBlock;
-        final boolean west = world.getBlockState(position.west()).getBlock() instanceof ShingleSlabBlock;
-
-        final boolean[] connectors = new boolean[] {north, south, east, west};
-
-        int amount = 0;
-        for (final boolean check : connectors)
-        {
-            if (check)
-            {
-                amount++;
-            }
-        }
-
-        BlockState shapeState;
-        if (amount == ONE_CONNECTION)
+        int connections = 0;
+        for (final Direction direction : Direction.Plane.HORIZONTAL)
         {
-            shapeState = state.setValue(SHAPE, ONE_WAY);
-            if (north)
-                return shapeState.setValue(FACING, NORTH);
-            if (south)
-                return shapeState.setValue(FACING, SOUTH);
-            if (east)
-                return shapeState.setValue(FACING, EAST);
-            if (west)
-                return shapeState.setValue(FACING, WEST);
-        }
-
-        if (amount == TWO_CONNECTIONS)
-        {
-            if (north && east)
-            {
-                shapeState = state.setValue(SHAPE, CURVED);
-                return shapeState.setValue(FACING, WEST);
-            }
-            if (north && west)
-            {
-                shapeState = state.setValue(SHAPE, CURVED);
-                return shapeState.setValue(FACING, SOUTH);
-            }
-            if (south && east)
-            {
-                shapeState = state.setValue(SHAPE, CURVED);
-                return shapeState.setValue(FACING, NORTH);
-            }
-            if (south && west)
-            {
-                shapeState = state.setValue(SHAPE, CURVED);
-                return shapeState.setValue(FACING, EAST);
-            }
-            if (north && south)
-            {
-                shapeState = state.setValue(SHAPE, TWO_WAY);
-                return shapeState.setValue(FACING, NORTH);
-            }
-            if (east && west)
+            if (world.getBlockState(position.relative(direction)).getBlock() instanceof ShingleSlabBlock)
             {
-                shapeState = state.setValue(SHAPE, TWO_WAY);
-                return shapeState.setValue(FACING, EAST);
+                connections |= ShingleSlabConnections.of(direction);
             }
         }
 
-        if (amount == THREE_CONNECTIONS)
-        {
-            shapeState = state.setValue(SHAPE, THREE_WAY);
-            if (north && east && west)
-            {
-                return shapeState.setValue(FACING, NORTH);
-            }
-            if (south && east && west)
-            {
-                return shapeState.setValue(FACING, SOUTH);
-            }
-            if (east && north && south)
-            {
-                return shapeState.setValue(FACING, EAST);
-            }
-            if (west && north && south)
-            {
-                return shapeState.setValue(FACING, WEST);
-            }
-        }
+        return getSlabShape(state, connections);
+    }
 
-        if (amount == FOUR_CONNECTIONS)
-        {
-            shapeState = state.setValue(SHAPE, FOUR_WAY);
-            return shapeState;
-        }
+    /**
+     * Get the step shape of the slab for the given connections.
+     *
+     * @param state       the state.
+     * @param connections the connection bits of the slab.
+     * @return the blockState to use.
+     */
+    private static BlockState getSlabShape(@NotNull final BlockState state, final int connections)
+    {
+        return state.setValue(SHAPE, ShingleSlabConnections.getShape(connections))
+                 .setValue(FACING, ShingleSlabConnections.getFacing(connections, state.getValue(FACING)));
+    }
 
-        return state.setValue(SHAPE, TOP);
+    /**
+     * Get the connections with other shingle slabs which are encoded in the shape of the slab.
+     *
+     * @param state the state.
+     * @return the connection bits of the slab.
+     */
+    private static int getConnections(@NotNull final BlockState state)
+    {
+        return ShingleSlabConnections.decode(state.getValue(SHAPE), state.getValue(FACING));
     }
 
     @Override
@@ -287,20 +258,18 @@ public class ShingleSlabBlock extends AbstractBlockDirectional<ShingleSlabBlock>
 
     @Override
     public float getExplosionResistance(BlockState state, BlockGetter level, BlockPos pos, Explosion explosion) {
-        BlockEntity be = level.getBlockEntity(pos);
-        if (be instanceof MateriallyTexturedBlockEntity mtbe) {
-            Block block = mtbe.getTextureData().getTexturedComponents().get(COMPONENTS.get(1).getId());
-            return block.getExplosionResistance(state, level, pos, explosion);
+        final ResolvedMaterial material = BlockUtils.getMainMaterial(level, pos);
+        if (material != null) {
+            return material.block().getExplosionResistance(state, level, pos, explosion);
         }
         return super.getExplosionResistance(state, level, pos, explosion);
     }
 
     @Override
     public float getDestroyProgress(BlockState state, Player player, BlockGetter level, BlockPos pos) {
-        BlockEntity be = level.getBlockEntity(pos);
-        if (be instanceof MateriallyTexturedBlockEntity mtbe) {
-            Block block = mtbe.getTextureData().getTexturedComponents().get(COMPONENTS.get(1).getId());
-            return super.getDestroyProgress(block.defaultBlockState(), player, level, pos);
+        final ResolvedMaterial material = BlockUtils.getMainMaterial(level, pos);
+        if (material != null) {
+            return super.getDestroyProgress(material.state(), player, level, pos);
         }
         return super.getDestroyProgress(state, player, level, pos);
     }
@@ -311,6 +280,12 @@ public class ShingleSlabBlock extends AbstractBlockDirectional<ShingleSlabBlock>
         return COMPONENTS;
     }
 
+    @Override
+    public @NotNull IMateriallyTexturedBlockComponent getMainComponent()
+    {
+        return COMPONENTS.get(1);
+    }
+
     @Override
     public void fillItemCategory(final @NotNull NonNullList<ItemStack> items)
     {
@@ -378,13 +353,9 @@ public class ShingleSlabBlock extends AbstractBlockDirectional<ShingleSlabBlock>
 
     @Override
     public SoundType getSoundType(BlockState state, LevelReader level, BlockPos pos, @org.jetbrains.annotations.Nullable Entity entity) {
-        BlockEntity be = level.getBlockEntity(pos);
-        if (be instanceof MateriallyTexturedBlockEntity mtbe) {
-            Block block = mtbe.getTextureData().getTexturedComponents().get(COMPONENTS.get(1).getId());
-            if (block != null)
-            {
-                return block.getSoundType(state, level, pos, entity);
-            }
+        final ResolvedMaterial material = BlockUtils.getMainMaterial(level, pos);
+        if (material != null) {
+            return material.block().getSoundType(state, level, pos, entity);
         }
         return super.getSoundType(state, level, pos, entity);
     }
@@ -0,0 +1,112 @@
+package com.ldtteam.domumornamentum.block.decorative;
+
+import com.ldtteam.domumornamentum.block.types.ShingleSlabShapeType;
+import net.minecraft.core.Direction;
+import org.jetbrains.annotations.NotNull;
+
+import static com.ldtteam.domumornamentum.block.types.ShingleSlabShapeType.*;
+import static net.minecraft.core.Direction.*;
+
+/**
+ * Encodes the connections of a shingle slab with its horizontal neighbors into its shape and facing, and decodes them again.
+ * The connections are a bit set with one bit per horizontal direction.
+ */
+public final class ShingleSlabConnections
+{
+    /**
+     * Bits of the connections with other shingle slabs.
+     */
+    public static final int NONE             = 0;
+    public static final int NORTH_CONNECTION = 1;
+    public static final int SOUTH_CONNECTION = 2;
+    public static final int EAST_CONNECTION  = 4;
+    public static final int WEST_CONNECTION  = 8;
+    public static final int ALL              = NORTH_CONNECTION | SOUTH_CONNECTION | EAST_CONNECTION | WEST_CONNECTION;
+
+    private ShingleSlabConnections()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: ShingleSlabConnections. This is a utility class");
+    }
+
+    /**
+     * Get the connection bit of the given direction.
+     *
+     * @param direction the direction.
+     * @return the connection bit, 0 for vertical directions.
+     */
+    public static int of(@NotNull final Direction direction)
+    {
+        return switch (direction)
+        {
+            case NORTH -> NORTH_CONNECTION;
+            case SOUTH -> SOUTH_CONNECTION;
+            case EAST -> EAST_CONNECTION;
+            case WEST -> WEST_CONNECTION;
+            default -> NONE;
+        };
+    }
+
+    /**
+     * Get the connections which are encoded in the given shape and facing.
+     *
+     * @param shape  the shape of the slab.
+     * @param facing the facing of the slab.
+     * @return the connection bits of the slab.
+     */
+    public static int decode(@NotNull final ShingleSlabShapeType shape, @NotNull final Direction facing)
+    {
+        return switch (shape)
+        {
+            case TOP -> NONE;
+            case ONE_WAY -> of(facing);
+            case TWO_WAY -> of(facing) | of(facing.getOpposite());
+            case CURVED -> of(facing.getOpposite()) | of(facing.getClockWise());
+            case THREE_WAY -> of(facing) | of(facing.getClockWise()) | of(facing.getCounterClockWise());
+            case FOUR_WAY -> ALL;
+        };
+    }
+
+    /**
+     * Get the shape which encodes the given connections.
+     *
+     * @param connections the connection bits of the slab.
+     * @return the shape.
+     */
+    @NotNull
+    public static ShingleSlabShapeType getShape(final int connections)
+    {
+        final int horizontalConnections = connections & ALL;
+        return switch (Integer.bitCount(horizontalConnections))
+        {
+            case 1 -> ONE_WAY;
+            case 2 -> horizontalConnections == (NORTH_CONNECTION | SOUTH_CONNECTION) || horizontalConnections == (EAST_CONNECTION | WEST_CONNECTION) ? TWO_WAY : CURVED;
+            case 3 -> THREE_WAY;
+            case 4 -> FOUR_WAY;
+            default -> TOP;
+        };
+    }
+
+    /**
+     * Get the facing which encodes the given connections.
+     *
+     * @param connections   the connection bits of the slab.
+     * @param currentFacing the current facing, kept for the shapes which do not depend on it.
+     * @return the facing.
+     */
+    @NotNull
+    public static Direction getFacing(final int connections, @NotNull final Direction currentFacing)
+    {
+        return switch (connections & ALL)
+        {
+            case NORTH_CONNECTION, NORTH_CONNECTION | SOUTH_CONNECTION, NORTH_CONNECTION | EAST_CONNECTION | WEST_CONNECTION -> NORTH;
+            case SOUTH_CONNECTION, SOUTH_CONNECTION | EAST_CONNECTION | WEST_CONNECTION -> SOUTH;
+            case EAST_CONNECTION, EAST_CONNECTION | WEST_CONNECTION, EAST_CONNECTION | NORTH_CONNECTION | SOUTH_CONNECTION -> EAST;
+            case WEST_CONNECTION, WEST_CONNECTION | NORTH_CONNECTION | SOUTH_CONNECTION -> WEST;
+            case NORTH_CONNECTION | EAST_CONNECTION -> WEST;
+            case NORTH_CONNECTION | WEST_CONNECTION -> SOUTH;
+            case SOUTH_CONNECTION | EAST_CONNECTION -> NORTH;
+            case SOUTH_CONNECTION | WEST_CONNECTION -> EAST;
+            default -> currentFacing;
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.ldtteam.domumornamentum.client.event.handlers;
+
+import com.ldtteam.domumornamentum.client.network.ClientMaterialDictionary;
+import com.ldtteam.domumornamentum.client.network.ClientMaterialSyncHandler;
+import com.ldtteam.domumornamentum.container.ArchitectsCutterRecipeIndex;
+import com.ldtteam.domumornamentum.util.Constants;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.client.event.RecipesUpdatedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+@Mod.EventBusSubscriber(modid = Constants.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public class ClientNetworkEventHandler
+{
+
+    @SubscribeEvent
+    public static void onLoggingOut(final ClientPlayerNetworkEvent.LoggingOut event)
+    {
+        ClientMaterialDictionary.getInstance().clear();
+        ClientMaterialSyncHandler.clear();
+    }
+
+    @SubscribeEvent
+    public static void onRecipesUpdated(final RecipesUpdatedEvent event)
+    {
+        ArchitectsCutterRecipeIndex.invalidate();
+    }
+}
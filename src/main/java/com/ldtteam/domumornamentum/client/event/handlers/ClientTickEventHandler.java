@@ -1,5 +1,7 @@
 package com.ldtteam.domumornamentum.client.event.handlers;
 
+import com.ldtteam.domumornamentum.client.model.baked.AsyncModelBaker;
+import com.ldtteam.domumornamentum.client.model.baked.ModelPrewarmer;
 import com.ldtteam.domumornamentum.util.Constants;
 import net.minecraft.client.Minecraft;
 import net.minecraftforge.api.distmarker.Dist;
@@ -29,6 +31,16 @@ public class ClientTickEventHandler
     {
         if (event.phase == TickEvent.Phase.START) {
             ClientTickEventHandler.getInstance().onClientTick();
+        } else {
+            ModelPrewarmer.getInstance().onClientTickEnd();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onRenderTick(final TickEvent.RenderTickEvent event)
+    {
+        if (event.phase == TickEvent.Phase.START) {
+            AsyncModelBaker.getInstance().onFrameStart();
         }
     }
 
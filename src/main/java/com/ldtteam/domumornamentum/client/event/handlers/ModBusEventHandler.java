@@ -7,7 +7,14 @@ import com.ldtteam.domumornamentum.block.types.FancyDoorType;
 import com.ldtteam.domumornamentum.block.types.FancyTrapdoorType;
 import com.ldtteam.domumornamentum.block.types.TrapdoorType;
 import com.ldtteam.domumornamentum.block.types.PostType;
+import com.ldtteam.domumornamentum.client.model.baked.BakedModelCache;
+import com.ldtteam.domumornamentum.client.model.baked.DiskModelCache;
+import com.ldtteam.domumornamentum.client.model.baked.ItemRenderPassCache;
+import com.ldtteam.domumornamentum.client.model.baked.MaterialMetadataCache;
+import com.ldtteam.domumornamentum.client.model.baked.QuadInterner;
+import com.ldtteam.domumornamentum.client.model.baked.RetexturingSpriteCache;
 import com.ldtteam.domumornamentum.client.screens.ArchitectsCutterScreen;
+import com.ldtteam.domumornamentum.config.ClientConfig;
 import com.ldtteam.domumornamentum.container.ModContainerTypes;
 import com.ldtteam.domumornamentum.shingles.ShingleHeightType;
 import com.ldtteam.domumornamentum.util.Constants;
@@ -18,8 +25,10 @@ import net.minecraft.client.renderer.item.ItemProperties;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ModelEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.event.config.ModConfigEvent;
 import net.minecraftforge.fml.event.lifecycle.FMLClientSetupEvent;
 
 @Mod.EventBusSubscriber(modid = Constants.MOD_ID, bus = Mod.EventBusSubscriber.Bus.MOD, value = Dist.CLIENT)
@@ -87,6 +96,27 @@ public class ModBusEventHandler
         });
     }
 
+    @SubscribeEvent
+    public static void onModelBakingCompleted(final ModelEvent.BakingCompleted event)
+    {
+        RetexturingSpriteCache.getInstance().invalidate();
+        MaterialMetadataCache.getInstance().invalidate();
+        BakedModelCache.getInstance().invalidate();
+        ItemRenderPassCache.getInstance().invalidate();
+        DiskModelCache.getInstance().invalidate();
+        QuadInterner.getInstance().invalidate();
+    }
+
+    @SubscribeEvent
+    public static void onConfigReloaded(final ModConfigEvent.Reloading event)
+    {
+        if (event.getConfig().getSpec() == ClientConfig.SPEC)
+        {
+            BakedModelCache.getInstance().invalidate();
+            ItemRenderPassCache.getInstance().invalidate();
+        }
+    }
+
     private static float handleDoorTypeOverride(ItemStack itemStack)
     {
         if (!itemStack.getOrCreateTag().contains("type"))
@@ -0,0 +1,103 @@
+package com.ldtteam.domumornamentum.client.model.baked;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.ldtteam.domumornamentum.config.ClientConfig;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.resources.model.BakedModel;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Retextures new material combinations in the background, so that neither the chunk builders nor the render thread stall on them.
+ * Finished models are stored in the {@link BakedModelCache}.
+ */
+public final class AsyncModelBaker
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final AsyncModelBaker INSTANCE = new AsyncModelBaker();
+
+    public static AsyncModelBaker getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(
+      Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+      new ThreadFactoryBuilder().setNameFormat("DO Model Baker %d").setDaemon(true).build()
+    );
+
+    private final Map<BakedModelCache.Key, CompletableFuture<BakedModel>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger synchronousItemBakes = new AtomicInteger();
+
+    private AsyncModelBaker()
+    {
+    }
+
+    /**
+     * Whether new material combinations should be retextured in the background.
+     *
+     * @return True when asynchronous baking is enabled.
+     */
+    public boolean isEnabled()
+    {
+        return ClientConfig.getInstance().isAsyncBakingEnabled();
+    }
+
+    /**
+     * Schedules the model with the given key to be built in the background, unless it is already scheduled.
+     *
+     * @param key    The key of the model.
+     * @param loader The callback which builds the model.
+     * @return The future which completes when the model is stored in the cache, or completes exceptionally when the model could not be built.
+     */
+    CompletableFuture<BakedModel> bake(final BakedModelCache.Key key, final Callable<BakedModel> loader)
+    {
+        final CompletableFuture<BakedModel> future = pending.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> load(k, loader), executor));
+        future.whenComplete((model, exception) -> pending.remove(key, future));
+        return future;
+    }
+
+    /**
+     * Claims one of the synchronous item bakes of the current frame.
+     *
+     * @return True when the item model may be built on the render thread, false when it needs to be built in the background.
+     */
+    boolean tryClaimSynchronousItemBake()
+    {
+        return synchronousItemBakes.incrementAndGet() <= ClientConfig.getInstance().getSynchronousItemBakesPerFrame();
+    }
+
+    /**
+     * Resets the synchronous item bake budget, called at the start of every frame.
+     */
+    public void onFrameStart()
+    {
+        synchronousItemBakes.set(0);
+    }
+
+    private static BakedModel load(final BakedModelCache.Key key, final Callable<BakedModel> loader)
+    {
+        try
+        {
+            return BakedModelCache.getInstance().get(key, loader);
+        }
+        catch (Exception exception)
+        {
+            LOGGER.error(String.format("Failed to build baked materially textured model in the background for: %s", key), exception);
+
+            //Cache the missing model in place of the failed one, so the bake is not retried until the models are reloaded or the entry expires.
+            BakedModelCache.getInstance().put(key, Minecraft.getInstance().getModelManager().getMissingModel());
+            throw new CompletionException(exception);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.ldtteam.domumornamentum.client.model.baked;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
+import com.ldtteam.domumornamentum.config.ClientConfig;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.core.Direction;
+import net.minecraft.util.RandomSource;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process wide cache of the retextured models of all materially textured models.
+ * All block state variants and items share this cache, so that a material combination which is used by multiple variants is only stored once per inner model.
+ * The cache is weighted by the amount of quads in the retextured models and sized from the configured memory budget,
+ * using the heap size of a quad derived from the block vertex format.
+ */
+public final class BakedModelCache
+{
+    private static final BakedModelCache INSTANCE = new BakedModelCache();
+
+    public static BakedModelCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * The vertex data of a baked quad, which holds four vertices in the block vertex format.
+     */
+    private static final long QUAD_VERTEX_DATA_BYTES = DefaultVertexFormat.BLOCK.getIntegerSize() * 4L * Integer.BYTES;
+
+    /**
+     * The header of the vertex data array, on a 64-bit JVM.
+     */
+    private static final long ARRAY_HEADER_BYTES = 16;
+
+    /**
+     * The baked quad itself: its object header, the references to its vertex data, direction and sprite, its tint index and its two flags,
+     * aligned to 8 bytes with compressed references.
+     */
+    private static final long QUAD_OBJECT_BYTES = 32;
+
+    /**
+     * The reference to the quad in the quad list of the model, without compressed references.
+     */
+    private static final long QUAD_REFERENCE_BYTES = 8;
+
+    /**
+     * The heap size of a single baked quad of a retextured model.
+     * The quad lists and the model objects themselves are small compared to their quads and are not counted.
+     */
+    private static final long BYTES_PER_QUAD = QUAD_VERTEX_DATA_BYTES + ARRAY_HEADER_BYTES + QUAD_OBJECT_BYTES + QUAD_REFERENCE_BYTES;
+
+    private static final RandomSource RANDOM = RandomSource.create();
+
+    /**
+     * The key of a retextured model.
+     *
+     * @param innerModel    The model which gets retextured.
+     * @param data          The material data used to retexture the model.
+     * @param renderType    The render type the model is built for.
+     * @param itemStackMode Whether the model is built for an item stack.
+     */
+    record Key(BakedModel innerModel, MaterialTextureData data, RenderType renderType, boolean itemStackMode) { }
+
+    private volatile Cache<Key, BakedModel> cache = createCache();
+
+    private BakedModelCache()
+    {
+    }
+
+    /**
+     * Gets the retextured model for the given key, building it if it is not yet cached.
+     *
+     * @param key    The key of the model.
+     * @param loader The callback which builds the model on a cache miss.
+     * @return The retextured model.
+     * @throws ExecutionException When the model could not be built.
+     */
+    BakedModel get(final Key key, final Callable<BakedModel> loader) throws ExecutionException
+    {
+        return cache.get(key, loader);
+    }
+
+    /**
+     * Gets the retextured model for the given key, if it is cached.
+     *
+     * @param key The key of the model.
+     * @return The retextured model, or null if it is not cached.
+     */
+    @Nullable
+    BakedModel getIfPresent(final Key key)
+    {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Stores the given retextured model.
+     *
+     * @param key   The key of the model.
+     * @param model The retextured model.
+     */
+    void put(final Key key, final BakedModel model)
+    {
+        cache.put(key, model);
+    }
+
+    /**
+     * Drops all cached models and recreates the cache from the current configuration.
+     * Needs to be called when the models are reloaded, since the inner models are replaced in that case.
+     */
+    public void invalidate()
+    {
+        this.cache = createCache();
+    }
+
+    private static Cache<Key, BakedModel> createCache()
+    {
+        return CacheBuilder.newBuilder()
+                 .expireAfterAccess(2, TimeUnit.MINUTES)
+                 .concurrencyLevel(getConcurrencyLevel())
+                 .maximumWeight(ClientConfig.getInstance().getBakedModelCacheMemoryBudget() * 1024L * 1024L / BYTES_PER_QUAD)
+                 .weigher((Key key, BakedModel model) -> getQuadCount(model))
+                 .build();
+    }
+
+    /**
+     * The models are requested by all chunk builder threads as well as the render thread, so stripe the cache accordingly.
+     *
+     * @return The concurrency level of the cache.
+     */
+    private static int getConcurrencyLevel()
+    {
+        return Runtime.getRuntime().availableProcessors() + 1;
+    }
+
+    private static int getQuadCount(final BakedModel model)
+    {
+        int count = model.getQuads(null, null, RANDOM).size();
+        for (final Direction direction : Direction.values())
+        {
+            count += model.getQuads(null, direction, RANDOM).size();
+        }
+
+        return Math.max(1, count);
+    }
+}
@@ -0,0 +1,562 @@
+package com.ldtteam.domumornamentum.client.model.baked;
+
+import com.google.common.hash.Hashing;
+import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
+import com.ldtteam.domumornamentum.config.ClientConfig;
+import com.ldtteam.domumornamentum.util.Constants;
+import com.mojang.math.Transformation;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.texture.TextureAtlas;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.client.resources.model.SimpleBakedModel;
+import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.PackResources;
+import net.minecraft.server.packs.metadata.pack.PackMetadataSection;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.client.model.data.ModelData;
+import net.minecraftforge.fml.ModList;
+import net.minecraftforge.fml.loading.FMLPaths;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+/**
+ * Optional cache of retextured block models on disk, so that material combinations do not need to be retextured again in later sessions.
+ * <p>
+ * The cache is a single append only file which starts with a header containing a hash of the loaded resource packs and mods,
+ * including their metadata and the modification times of their files.
+ * It is followed by records consisting of the fingerprint of the model, the length of the payload and the payload with the quads of the model.
+ * The file is memory mapped when it is first accessed and dropped when the resource packs do not match anymore.
+ * Additionally, the atlas bounds of every sprite are stored, so a record is only used when the atlas layout did not change.
+ */
+public final class DiskModelCache
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final DiskModelCache INSTANCE = new DiskModelCache();
+
+    public static DiskModelCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private static final int MAGIC              = 0x444F4D43;
+    private static final int VERSION            = 3;
+    private static final int HEADER_SIZE        = 16;
+    private static final int RECORD_HEADER_SIZE = 12;
+
+    private static final RandomSource RANDOM = RandomSource.create();
+
+    private static final String FILE_PACK_PREFIX = "file/";
+
+    /**
+     * The faces in which the quads are stored, the last entry stores the unculled quads.
+     */
+    private static final Direction[] FACES = {Direction.DOWN, Direction.UP, Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST, null};
+
+    /**
+     * The offsets of the records by their fingerprint.
+     */
+    private final Map<Long, Long> index = new HashMap<>();
+
+    @Nullable
+    private FileChannel      channel;
+    @Nullable
+    private MappedByteBuffer mapped;
+    private boolean          opened;
+    private boolean          full;
+
+    private DiskModelCache()
+    {
+    }
+
+    /**
+     * Loads the models of all render types from disk, or builds them and stores them on disk when any of them is not present.
+     *
+     * @param modelLocation The location of the model variant which is retextured.
+     * @param rotation      The rotation the model was baked with.
+     * @param uvLocked      Whether the model was baked with uv lock.
+     * @param data          The material data used to retexture the model.
+     * @param renderTypes   The render types the models are built for.
+     * @param sourceModel   The model which is retextured.
+     * @param sourceState   The block state the models are built for.
+     * @param builder       The callback which builds the models of all render types.
+     * @return The retextured models by render type.
+     * @throws Exception When the models could not be built.
+     */
+    public Map<RenderType, BakedModel> getOrBake(
+      final ResourceLocation modelLocation,
+      final Transformation rotation,
+      final boolean uvLocked,
+      final MaterialTextureData data,
+      final List<RenderType> renderTypes,
+      final BakedModel sourceModel,
+      @Nullable final BlockState sourceState,
+      final Callable<Map<RenderType, BakedModel>> builder) throws Exception
+    {
+        if (!ClientConfig.getInstance().isDiskCacheEnabled())
+            return builder.call();
+
+        //Only the chunk layers have a stable identity across sessions.
+        if (!RenderType.chunkBufferLayers().containsAll(renderTypes))
+            return builder.call();
+
+        final Map<RenderType, BakedModel> storedModels = new HashMap<>();
+        for (final RenderType renderType : renderTypes)
+        {
+            final BakedModel storedModel = load(getFingerprint(modelLocation, rotation, uvLocked, data, renderType), sourceModel, sourceState, renderType);
+            if (storedModel == null)
+                break;
+
+            storedModels.put(renderType, storedModel);
+        }
+
+        if (storedModels.size() == renderTypes.size())
+            return storedModels;
+
+        final Map<RenderType, BakedModel> models = builder.call();
+        models.forEach((renderType, model) -> {
+            if (!storedModels.containsKey(renderType))
+            {
+                store(getFingerprint(modelLocation, rotation, uvLocked, data, renderType), model);
+            }
+        });
+        return models;
+    }
+
+    /**
+     * Closes the cache file, it is reopened and revalidated on its next use.
+     * Needs to be called when the resources are reloaded.
+     */
+    public synchronized void invalidate()
+    {
+        close();
+        this.opened = false;
+    }
+
+    private static long getFingerprint(
+      final ResourceLocation modelLocation,
+      final Transformation rotation,
+      final boolean uvLocked,
+      final MaterialTextureData data,
+      final RenderType renderType)
+    {
+        final Map<String, String> components = new TreeMap<>();
+        data.getTexturedComponents().forEach((component, block) -> components.put(component.toString(), String.valueOf(ForgeRegistries.BLOCKS.getKey(block))));
+
+        //The index of the layer is used, since the string representation of a render type contains identity hashes which differ per session.
+        return ModelFingerprint.of(modelLocation.toString(), rotation.getMatrix(), uvLocked, RenderType.chunkBufferLayers().indexOf(renderType), components);
+    }
+
+    private static long getResourceHash()
+    {
+        final StringBuilder builder = new StringBuilder();
+        Minecraft.getInstance().getResourceManager().listPacks().forEach(pack -> builder
+          .append(pack.packId()).append('@')
+          .append(getPackMetadata(pack)).append('@')
+          .append(getPackModificationTime(pack.packId())).append('|'));
+        ModList.get().getMods().forEach(mod -> builder.append(mod.getModId()).append('@').append(mod.getVersion()).append('|'));
+        ModList.get().getModFiles().forEach(modFile -> builder
+          .append(modFile.getFile().getFileName()).append('@')
+          .append(getModificationTime(modFile.getFile().getFilePath())).append('|'));
+
+        return Hashing.murmur3_128().hashString(builder, StandardCharsets.UTF_8).asLong();
+    }
+
+    private static String getPackMetadata(final PackResources pack)
+    {
+        try
+        {
+            final PackMetadataSection metadata = pack.getMetadataSection(PackMetadataSection.TYPE);
+            return metadata == null ? "" : metadata.getPackFormat() + ":" + metadata.getDescription().getString();
+        }
+        catch (IOException exception)
+        {
+            return "";
+        }
+    }
+
+    /**
+     * Gets the modification time of a pack from the resource pack directory, packs of other sources are covered by their mod file.
+     */
+    private static long getPackModificationTime(final String packId)
+    {
+        if (!packId.startsWith(FILE_PACK_PREFIX))
+            return 0;
+
+        return getModificationTime(Minecraft.getInstance().getResourcePackDirectory().resolve(packId.substring(FILE_PACK_PREFIX.length())));
+    }
+
+    /**
+     * Gets the latest modification time of the given file, or of any file within the given directory.
+     */
+    private static long getModificationTime(final Path path)
+    {
+        try
+        {
+            if (!Files.isDirectory(path))
+                return Files.exists(path) ? Files.getLastModifiedTime(path).toMillis() : 0;
+
+            try (Stream<Path> files = Files.walk(path))
+            {
+                return files.mapToLong(file -> file.toFile().lastModified()).max().orElse(0);
+            }
+        }
+        catch (IOException | UncheckedIOException exception)
+        {
+            LOGGER.warn("Failed to read the modification time of: " + path, exception);
+            return 0;
+        }
+    }
+
+    @Nullable
+    private BakedModel load(final long fingerprint, final BakedModel sourceModel, @Nullable final BlockState sourceState, final RenderType renderType)
+    {
+        final ByteBuffer payload = read(fingerprint);
+        if (payload == null)
+            return null;
+
+        try
+        {
+            return decode(payload, sourceModel, sourceState, renderType);
+        }
+        catch (RuntimeException exception)
+        {
+            LOGGER.warn("Failed to read a retextured model from the disk cache, it will be rebuilt.", exception);
+            return null;
+        }
+    }
+
+    @Nullable
+    private synchronized ByteBuffer read(final long fingerprint)
+    {
+        if (!ensureOpen())
+            return null;
+
+        final Long offset = index.get(fingerprint);
+        if (offset == null)
+            return null;
+
+        try
+        {
+            if (offset + RECORD_HEADER_SIZE <= mapped.capacity())
+            {
+                final int length = mapped.getInt((int) (offset + Long.BYTES));
+                if (offset + RECORD_HEADER_SIZE + length <= mapped.capacity())
+                    return mapped.slice((int) (offset + RECORD_HEADER_SIZE), length);
+            }
+
+            //The record was written after the file got mapped.
+            final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            readFully(header, offset);
+            final ByteBuffer payload = ByteBuffer.allocate(header.getInt(Long.BYTES));
+            readFully(payload, offset + RECORD_HEADER_SIZE);
+            return payload;
+        }
+        catch (IOException exception)
+        {
+            LOGGER.warn("Failed to read from the retextured model disk cache, it will be disabled until the next resource reload.", exception);
+            close();
+            return null;
+        }
+    }
+
+    private void store(final long fingerprint, final BakedModel model)
+    {
+        final byte[] payload;
+        try
+        {
+            payload = encode(model);
+        }
+        catch (IOException exception)
+        {
+            LOGGER.warn("Failed to encode a retextured model for the disk cache.", exception);
+            return;
+        }
+
+        write(fingerprint, payload);
+    }
+
+    private synchronized void write(final long fingerprint, final byte[] payload)
+    {
+        if (!ensureOpen())
+            return;
+
+        try
+        {
+            final long position = channel.size();
+            if (position + RECORD_HEADER_SIZE + payload.length > ClientConfig.getInstance().getDiskCacheMaxSize() * 1024L * 1024L)
+            {
+                if (!full)
+                {
+                    full = true;
+                    LOGGER.info("The retextured model disk cache reached its maximum size of {} MB, new models are not stored on disk anymore. "
+                                  + "It is cleared when the resource packs or mods change, or when its file is deleted.", ClientConfig.getInstance().getDiskCacheMaxSize());
+                }
+                return;
+            }
+
+            final ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+            record.putLong(fingerprint).putInt(payload.length).put(payload).flip();
+            while (record.hasRemaining())
+            {
+                channel.write(record, position + record.position());
+            }
+
+            index.put(fingerprint, position);
+        }
+        catch (IOException exception)
+        {
+            LOGGER.warn("Failed to write to the retextured model disk cache, it will be disabled until the next resource reload.", exception);
+            close();
+        }
+    }
+
+    private boolean ensureOpen()
+    {
+        if (opened)
+            return channel != null;
+
+        opened = true;
+        full = false;
+        try
+        {
+            final Path path = FMLPaths.GAMEDIR.get().resolve(Constants.MOD_ID).resolve("model_cache.bin");
+            Files.createDirectories(path.getParent());
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            final long resourceHash = getResourceHash();
+            if (!hasValidHeader(resourceHash))
+            {
+                channel.truncate(0);
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(VERSION).putLong(resourceHash).flip();
+                channel.write(header, 0);
+            }
+
+            //The file is only mapped once it has its final size, since a mapped file can not be truncated on all platforms.
+            final long size = buildIndex();
+            if (size != channel.size())
+            {
+                //The last record was not completely written, drop it.
+                channel.truncate(size);
+            }
+
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, Integer.MAX_VALUE));
+        }
+        catch (IOException exception)
+        {
+            LOGGER.warn("Failed to open the retextured model disk cache, it will be disabled until the next resource reload.", exception);
+            close();
+        }
+
+        return channel != null;
+    }
+
+    private boolean hasValidHeader(final long resourceHash) throws IOException
+    {
+        if (channel.size() < HEADER_SIZE)
+            return false;
+
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(header, 0);
+        return header.getInt() == MAGIC && header.getInt() == VERSION && header.getLong() == resourceHash;
+    }
+
+    /**
+     * Indexes the records of the file.
+     *
+     * @return The size of the file up to the end of its last complete record.
+     */
+    private long buildIndex() throws IOException
+    {
+        final long size = channel.size();
+        final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        long position = HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE <= size)
+        {
+            header.clear();
+            readFully(header, position);
+            final long fingerprint = header.getLong(0);
+            final int length = header.getInt(Long.BYTES);
+            if (length < 0 || position + RECORD_HEADER_SIZE + length > size)
+                break;
+
+            index.put(fingerprint, position);
+            position += RECORD_HEADER_SIZE + length;
+        }
+
+        return position;
+    }
+
+    private void readFully(final ByteBuffer buffer, final long position) throws IOException
+    {
+        while (buffer.hasRemaining())
+        {
+            if (channel.read(buffer, position + buffer.position()) < 0)
+                throw new IOException("Unexpected end of the retextured model disk cache.");
+        }
+        buffer.flip();
+    }
+
+    private void close()
+    {
+        index.clear();
+        mapped = null;
+        if (channel != null)
+        {
+            try
+            {
+                channel.close();
+            }
+            catch (IOException exception)
+            {
+                LOGGER.warn("Failed to close the retextured model disk cache.", exception);
+            }
+            channel = null;
+        }
+    }
+
+    private static byte[] encode(final BakedModel model) throws IOException
+    {
+        final List<TextureAtlasSprite> sprites = new ArrayList<>();
+        final Map<ResourceLocation, Integer> spriteIndices = new HashMap<>();
+        final TextureAtlasSprite particleIcon = model.getParticleIcon(ModelData.EMPTY);
+        spriteIndices.computeIfAbsent(particleIcon.contents().name(), name -> {
+            sprites.add(particleIcon);
+            return sprites.size() - 1;
+        });
+
+        final List<List<BakedQuad>> faces = new ArrayList<>();
+        for (final Direction face : FACES)
+        {
+            final List<BakedQuad> quads = model.getQuads(null, face, RANDOM);
+            for (final BakedQuad quad : quads)
+            {
+                spriteIndices.computeIfAbsent(quad.getSprite().contents().name(), name -> {
+                    sprites.add(quad.getSprite());
+                    return sprites.size() - 1;
+                });
+            }
+            faces.add(quads);
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        output.writeShort(sprites.size());
+        for (final TextureAtlasSprite sprite : sprites)
+        {
+            final byte[] name = sprite.contents().name().toString().getBytes(StandardCharsets.UTF_8);
+            output.writeShort(name.length);
+            output.write(name);
+            output.writeFloat(sprite.getU0());
+            output.writeFloat(sprite.getU1());
+            output.writeFloat(sprite.getV0());
+            output.writeFloat(sprite.getV1());
+        }
+
+        output.writeShort(spriteIndices.get(particleIcon.contents().name()));
+        for (final List<BakedQuad> quads : faces)
+        {
+            output.writeInt(quads.size());
+            for (final BakedQuad quad : quads)
+            {
+                output.writeShort(spriteIndices.get(quad.getSprite().contents().name()));
+                output.writeInt(quad.getTintIndex());
+                output.writeByte(quad.getDirection().ordinal());
+                output.writeBoolean(quad.isShade());
+                output.writeBoolean(quad.hasAmbientOcclusion());
+                output.writeShort(quad.getVertices().length);
+                for (final int vertex : quad.getVertices())
+                {
+                    output.writeInt(vertex);
+                }
+            }
+        }
+
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    @Nullable
+    private static BakedModel decode(final ByteBuffer payload, final BakedModel sourceModel, @Nullable final BlockState sourceState, final RenderType renderType)
+    {
+        final TextureAtlas atlas = Minecraft.getInstance().getModelManager().getAtlas(TextureAtlas.LOCATION_BLOCKS);
+        final TextureAtlasSprite[] sprites = new TextureAtlasSprite[payload.getShort()];
+        for (int spriteIndex = 0; spriteIndex < sprites.length; spriteIndex++)
+        {
+            final byte[] name = new byte[payload.getShort()];
+            payload.get(name);
+            final ResourceLocation spriteName = new ResourceLocation(new String(name, StandardCharsets.UTF_8));
+            final TextureAtlasSprite sprite = atlas.getSprite(spriteName);
+
+            //The atlas layout changed, the stored texture coordinates can not be used anymore.
+            if (!sprite.contents().name().equals(spriteName)
+                  || sprite.getU0() != payload.getFloat()
+                  || sprite.getU1() != payload.getFloat()
+                  || sprite.getV0() != payload.getFloat()
+                  || sprite.getV1() != payload.getFloat())
+                return null;
+
+            sprites[spriteIndex] = sprite;
+        }
+
+        final SimpleBakedModel.Builder builder = new SimpleBakedModel.Builder(
+          sourceModel.useAmbientOcclusion(sourceState, renderType),
+          sourceModel.usesBlockLight(),
+          sourceModel.isGui3d(),
+          sourceModel.getTransforms(),
+          sourceModel.getOverrides()
+        );
+        builder.particle(sprites[payload.getShort()]);
+
+        for (final Direction face : FACES)
+        {
+            final int quadCount = payload.getInt();
+            for (int quadIndex = 0; quadIndex < quadCount; quadIndex++)
+            {
+                final TextureAtlasSprite sprite = sprites[payload.getShort()];
+                final int tintIndex = payload.getInt();
+                final Direction direction = Direction.values()[payload.get()];
+                final boolean shade = payload.get() != 0;
+                final boolean ambientOcclusion = payload.get() != 0;
+                final int[] vertices = new int[payload.getShort()];
+                payload.asIntBuffer().get(vertices);
+                payload.position(payload.position() + vertices.length * Integer.BYTES);
+
+                final BakedQuad quad = QuadInterner.getInstance().intern(new BakedQuad(vertices, tintIndex, direction, sprite, shade, ambientOcclusion));
+                if (face == null)
+                    builder.addUnculledFace(quad);
+                else
+                    builder.addCulledFace(face, quad);
+            }
+        }
+
+        return builder.build();
+    }
+}
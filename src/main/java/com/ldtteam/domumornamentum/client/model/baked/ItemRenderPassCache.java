@@ -0,0 +1,140 @@
+package com.ldtteam.domumornamentum.client.model.baked;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.Item;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of the render passes of materially textured items.
+ * Only the data which affects the geometry of the item is part of the key, so renamed or enchanted copies of a stack share their passes.
+ * The decoded material data of the material tags of displayed stacks is remembered by the content of the tag, so it is not decoded every frame.
+ */
+public final class ItemRenderPassCache
+{
+    private static final ItemRenderPassCache INSTANCE = new ItemRenderPassCache();
+
+    public static ItemRenderPassCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * The key of the render passes of an item.
+     *
+     * @param model     The model of the item.
+     * @param item      The item.
+     * @param type      The type variant of the item, empty if it has none.
+     * @param data      The material data of the item.
+     * @param fabulous  Whether the passes are rendered with fabulous graphics.
+     */
+    record Key(BakedModel model, Item item, String type, MaterialTextureData data, boolean fabulous) { }
+
+    private final Cache<Key, List<BakedModel>> cache = CacheBuilder.newBuilder()
+            .expireAfterAccess(2, TimeUnit.MINUTES)
+            .maximumSize(4096)
+            .build();
+
+    /**
+     * The decoded material data by a copy of the material tag it was decoded from.
+     * The tags of stacks are changed in place, so the content of the tag is the key, not its identity.
+     */
+    private final Cache<CompoundTag, MaterialTextureData> decodedTextureData = CacheBuilder.newBuilder()
+            .expireAfterAccess(2, TimeUnit.MINUTES)
+            .maximumSize(4096)
+            .build();
+
+    /**
+     * The last key which was used for a material tag, by the identity of that tag.
+     * A key is only reused when all of its values still match, so a tag which was changed in place just gets a new key.
+     */
+    private final Cache<CompoundTag, Key> keys = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    private ItemRenderPassCache()
+    {
+    }
+
+    /**
+     * Gets the decoded material data of the given material tag, only decodes the tag the first time it is seen.
+     *
+     * @param textureDataTag The material tag of an item stack.
+     * @return The decoded material data.
+     */
+    MaterialTextureData getTextureData(final CompoundTag textureDataTag)
+    {
+        MaterialTextureData textureData = decodedTextureData.getIfPresent(textureDataTag);
+        if (textureData == null)
+        {
+            textureData = MaterialTextureData.deserializeFromNBT(textureDataTag);
+            decodedTextureData.put(textureDataTag.copy(), textureData);
+        }
+
+        return textureData;
+    }
+
+    /**
+     * Gets the key of the render passes of an item, reuses the last key of its material tag when it still matches.
+     *
+     * @param textureDataTag The material tag of the item stack, or null if it has none.
+     * @param model          The model of the item.
+     * @param item           The item.
+     * @param type           The type variant of the item, empty if it has none.
+     * @param data           The material data of the item.
+     * @param fabulous       Whether the passes are rendered with fabulous graphics.
+     * @return The key of the render passes.
+     */
+    Key getKey(@Nullable final CompoundTag textureDataTag, final BakedModel model, final Item item, final String type, final MaterialTextureData data, final boolean fabulous)
+    {
+        if (textureDataTag == null)
+            return new Key(model, item, type, data, fabulous);
+
+        final Key lastKey = keys.getIfPresent(textureDataTag);
+        if (lastKey != null && lastKey.model() == model && lastKey.item() == item && lastKey.data() == data && lastKey.fabulous() == fabulous && lastKey.type().equals(type))
+            return lastKey;
+
+        final Key key = new Key(model, item, type, data, fabulous);
+        keys.put(textureDataTag, key);
+        return key;
+    }
+
+    /**
+     * Gets the cached render passes.
+     *
+     * @param key The key of the render passes.
+     * @return The immutable list of render passes, or null if they are not cached.
+     */
+    @Nullable
+    List<BakedModel> get(final Key key)
+    {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Stores the given render passes.
+     *
+     * @param key    The key of the render passes.
+     * @param passes The immutable list of render passes.
+     */
+    void put(final Key key, final List<BakedModel> passes)
+    {
+        cache.put(key, passes);
+    }
+
+    /**
+     * Clears the cache, needs to be called when the models are reloaded.
+     */
+    public void invalidate()
+    {
+        cache.invalidateAll();
+        decodedTextureData.invalidateAll();
+        keys.invalidateAll();
+    }
+}
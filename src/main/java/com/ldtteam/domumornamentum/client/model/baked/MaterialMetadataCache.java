@@ -0,0 +1,101 @@
+package com.ldtteam.domumornamentum.client.model.baked;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.block.Block;
+import net.minecraftforge.client.ChunkRenderTypeSet;
+import net.minecraftforge.client.model.data.ModelData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Cache of the render metadata which is derived from the material blocks of a material combination.
+ * Keys are compared by identity, which is valid since {@link MaterialTextureData} instances are interned.
+ */
+public final class MaterialMetadataCache
+{
+    private static final MaterialMetadataCache INSTANCE = new MaterialMetadataCache();
+
+    public static MaterialMetadataCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private static final RandomSource       RANDOM     = RandomSource.create();
+    private static final ChunkRenderTypeSet SOLID_ONLY = ChunkRenderTypeSet.of(RenderType.solid());
+
+    /**
+     * The render metadata of a material combination.
+     *
+     * @param renderTypes     The render types of the block, which is the union of the render types of all materials and solid.
+     * @param itemRenderTypes The render types of the item.
+     * @param particleIcons   The particle icons of the materials, by component id.
+     */
+    public record MaterialMetadata(ChunkRenderTypeSet renderTypes, List<RenderType> itemRenderTypes, Map<ResourceLocation, TextureAtlasSprite> particleIcons) { }
+
+    private final Cache<MaterialTextureData, MaterialMetadata> cache = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    private MaterialMetadataCache()
+    {
+    }
+
+    /**
+     * Gets the render metadata of the given material combination.
+     *
+     * @param textureData The material combination.
+     * @return The render metadata.
+     */
+    public MaterialMetadata get(final MaterialTextureData textureData)
+    {
+        try
+        {
+            return cache.get(textureData, () -> compute(textureData));
+        }
+        catch (ExecutionException e)
+        {
+            throw new IllegalStateException("Failed to compute the render metadata of: " + textureData, e.getCause());
+        }
+    }
+
+    /**
+     * Clears the cache, needs to be called when the models are reloaded.
+     */
+    public void invalidate()
+    {
+        cache.invalidateAll();
+    }
+
+    private static MaterialMetadata compute(final MaterialTextureData textureData)
+    {
+        final List<ChunkRenderTypeSet> renderTypeSets = new ArrayList<>();
+        final ImmutableMap.Builder<ResourceLocation, TextureAtlasSprite> particleIcons = ImmutableMap.builder();
+        textureData.getTexturedComponents().forEach((component, block) -> {
+            final BakedModel model = getModel(block);
+            renderTypeSets.add(model.getRenderTypes(block.defaultBlockState(), RANDOM, ModelData.EMPTY));
+            particleIcons.put(component, model.getParticleIcon(ModelData.EMPTY));
+        });
+        renderTypeSets.add(SOLID_ONLY);
+
+        final ChunkRenderTypeSet renderTypes = ChunkRenderTypeSet.union(renderTypeSets.toArray(ChunkRenderTypeSet[]::new));
+        return new MaterialMetadata(renderTypes, ImmutableList.copyOf(renderTypes.asList()), particleIcons.build());
+    }
+
+    private static BakedModel getModel(final Block block)
+    {
+        return Minecraft.getInstance().getBlockRenderer().getBlockModel(block.defaultBlockState());
+    }
+}
@@ -1,11 +1,11 @@
 package com.ldtteam.domumornamentum.client.model.baked;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.collect.Lists;
+import com.google.common.collect.ImmutableList;
 import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
+import com.ldtteam.domumornamentum.client.model.data.ResolvedModelHandle;
 import com.ldtteam.domumornamentum.client.model.properties.ModProperties;
 import com.mojang.datafixers.util.Pair;
+import com.mojang.math.Transformation;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.client.renderer.Sheets;
@@ -14,12 +14,16 @@ import net.minecraft.client.renderer.block.model.ItemOverrides;
 import net.minecraft.client.renderer.block.model.ItemTransforms;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.item.BlockItem;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.BlockAndTintGetter;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.client.ChunkRenderTypeSet;
 import net.minecraftforge.client.RenderTypeGroup;
@@ -30,9 +34,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static com.ldtteam.domumornamentum.util.MaterialTextureDataUtil.generateRandomTextureDataFrom;
 
@@ -40,28 +43,50 @@ import static com.ldtteam.domumornamentum.util.MaterialTextureDataUtil.generateR
 public class MateriallyTexturedBakedModel implements BakedModel {
     private static final Logger LOGGER = LogManager.getLogger();
     private static final RandomSource RANDOM = RandomSource.create();
-    private static final ChunkRenderTypeSet SOLID_ONLY = ChunkRenderTypeSet.of(RenderType.solid());
-
-    private record BlockModelCacheKey (MaterialTextureData data, RenderType renderType) { }
-
-    private record ItemModelCacheKey (MaterialTextureData data, RenderType renderType, CompoundTag tag) { }
-
-    private final Cache<BlockModelCacheKey, BakedModel> cache = CacheBuilder.newBuilder()
-            .expireAfterAccess(2, TimeUnit.MINUTES)
-            .concurrencyLevel(4)
-            .maximumSize(10000)
-            .build();
-
-    private final Cache<ItemModelCacheKey, BakedModel> itemCache = CacheBuilder.newBuilder()
-            .expireAfterAccess(2, TimeUnit.MINUTES)
-            .concurrencyLevel(4)
-            .maximumSize(10000)
-            .build();
 
     private final BakedModel innerModel;
+    private final ResourceLocation modelLocation;
+    @Nullable
+    private final BakedModel unrotatedModel;
+    @Nullable
+    private final ResourceLocation unrotatedModelLocation;
+    private final Transformation rotation;
+    private final boolean uvLocked;
+
+    /**
+     * Creates a model whose retextured models are always retextured from its inner model.
+     *
+     * @param innerModel    The inner model, baked with the rotation of the variant.
+     * @param modelLocation The location of the variant.
+     * @param rotation      The rotation of the variant.
+     * @param uvLocked      Whether the variant is uv locked.
+     */
+    public MateriallyTexturedBakedModel(final BakedModel innerModel, final ResourceLocation modelLocation, final Transformation rotation, final boolean uvLocked) {
+        this(innerModel, modelLocation, null, null, rotation, uvLocked);
+    }
 
-    public MateriallyTexturedBakedModel(final BakedModel innerModel) {
+    /**
+     * Creates a model whose retextured models can be derived from the retextured models of the unrotated inner model.
+     *
+     * @param innerModel             The inner model, baked with the rotation of the variant.
+     * @param modelLocation          The location of the variant.
+     * @param unrotatedModel         The inner model, baked without rotation, or null if the variant can not be derived from it.
+     * @param unrotatedModelLocation The location of the inner model.
+     * @param rotation               The rotation of the variant.
+     * @param uvLocked               Whether the variant is uv locked.
+     */
+    public MateriallyTexturedBakedModel(final BakedModel innerModel,
+                                        final ResourceLocation modelLocation,
+                                        @Nullable final BakedModel unrotatedModel,
+                                        @Nullable final ResourceLocation unrotatedModelLocation,
+                                        final Transformation rotation,
+                                        final boolean uvLocked) {
         this.innerModel = innerModel;
+        this.modelLocation = modelLocation;
+        this.unrotatedModel = unrotatedModel;
+        this.unrotatedModelLocation = unrotatedModelLocation;
+        this.rotation = rotation;
+        this.uvLocked = uvLocked;
     }
 
     @Override
@@ -81,23 +106,70 @@ public class MateriallyTexturedBakedModel implements BakedModel {
             return ChunkRenderTypeSet.none();
         }
 
-        return ChunkRenderTypeSet.union(
-                Stream.concat(
-                        textureData.getTexturedComponents().values().stream()
-                                .map(block -> Minecraft.getInstance().getBlockRenderer().getBlockModel(block.defaultBlockState())
-                                        .getRenderTypes(block.defaultBlockState(), rand, ModelData.EMPTY)),
-                        Stream.of(SOLID_ONLY))
-                .toArray(ChunkRenderTypeSet[]::new)
-        );
+        return MaterialMetadataCache.getInstance().get(textureData).renderTypes();
     }
 
     @Override
     public @NotNull List<BakedQuad> getQuads(@Nullable BlockState state, @Nullable Direction side, @NotNull RandomSource rand, @NotNull ModelData data, @Nullable RenderType renderType) {
 
-        final BakedModel remappedModel = getBakedInnerModelFor(data, state, renderType == null ? RenderType.solid() : renderType);
+        final RenderType layer = renderType == null ? RenderType.solid() : renderType;
+        final ResolvedModelHandle handle = data.get(ModProperties.RESOLVED_MODEL_PROPERTY);
+        if (handle != null) {
+            final BakedModel resolvedModel = handle.get(this, layer);
+            if (resolvedModel != null) {
+                return resolvedModel.getQuads(state, side, rand, data, renderType);
+            }
+        }
+
+        final BakedModel remappedModel = getBakedInnerModelFor(data, state, layer);
+        if (remappedModel != null && handle != null) {
+            handle.put(this, layer, remappedModel);
+        }
+
+        if (remappedModel == null) {
+            //The retextured model is still being built, render the untextured model in the first layer of the materials until then.
+            return renderType == null || renderType == getFallbackLayer(state, data) ? innerModel.getQuads(state, side, rand) : Collections.emptyList();
+        }
+
         return remappedModel.getQuads(state, side, rand, data, renderType);
     }
 
+    /**
+     * The layer the untextured model is rendered in while the retextured model is built.
+     * This is the first layer of the materials, so that materials which are only rendered in the cutout or translucent layers still show the block.
+     */
+    private RenderType getFallbackLayer(@Nullable final BlockState state, final ModelData data) {
+        if (state == null) {
+            return RenderType.solid();
+        }
+
+        final Iterator<RenderType> renderTypes = getRenderTypes(state, RANDOM, data).iterator();
+        return renderTypes.hasNext() ? renderTypes.next() : RenderType.solid();
+    }
+
+    @Override
+    public @NotNull ModelData getModelData(@NotNull BlockAndTintGetter level, @NotNull BlockPos pos, @NotNull BlockState state, @NotNull ModelData modelData) {
+        if (!AsyncModelBaker.getInstance().isEnabled()) {
+            return modelData;
+        }
+
+        final MaterialTextureData textureData = modelData.get(ModProperties.MATERIAL_TEXTURE_PROPERTY);
+        if (textureData == null) {
+            return modelData;
+        }
+
+        final ResolvedModelHandle handle = modelData.get(ModProperties.RESOLVED_MODEL_PROPERTY);
+        for (final RenderType renderType : getRenderTypes(state, RANDOM, modelData)) {
+            if (handle != null && handle.get(this, renderType) != null) {
+                continue;
+            }
+
+            scheduleSectionRebuildOnBake(textureData, state, renderType, pos.immutable());
+        }
+
+        return modelData;
+    }
+
     @Override
     public boolean useAmbientOcclusion() {
         return innerModel.useAmbientOcclusion();
@@ -133,12 +205,8 @@ public class MateriallyTexturedBakedModel implements BakedModel {
         if (textureData == null)
             return getParticleIcon();
 
-        final ResourceLocation particleTextureName = getParticleIcon().contents().name();
-        if (!textureData.getTexturedComponents().containsKey(particleTextureName))
-            return getParticleIcon();
-
-        return Minecraft.getInstance().getBlockRenderer().getBlockModel(textureData.getTexturedComponents().get(particleTextureName).defaultBlockState())
-                .getParticleIcon(modelData);
+        final TextureAtlasSprite particleIcon = MaterialMetadataCache.getInstance().get(textureData).particleIcons().get(getParticleIcon().contents().name());
+        return particleIcon != null ? particleIcon : getParticleIcon();
     }
 
     @Override
@@ -153,25 +221,16 @@ public class MateriallyTexturedBakedModel implements BakedModel {
 
     @Override
     public @NotNull List<RenderType> getRenderTypes(ItemStack itemStack, boolean fabulous) {
-        if (!(itemStack.getItem() instanceof BlockItem blockItem)) {
+        if (!(itemStack.getItem() instanceof BlockItem)) {
             return Collections.emptyList();
         }
 
-        MaterialTextureData textureData = MaterialTextureData.deserializeFromNBT(itemStack.getOrCreateTagElement("textureData"));
+        final MaterialTextureData textureData = getTextureData(itemStack.getTagElement("textureData"));
         if (textureData.isEmpty()) {
             return Collections.emptyList();
         }
 
-        return Lists.newArrayList(getRenderTypes(blockItem, textureData));
-    }
-
-    private Collection<RenderType> getRenderTypes(BlockItem blockItem, MaterialTextureData textureData) {
-        final List<RenderType> renderTypes = getRenderTypes(blockItem.getBlock().defaultBlockState(), RANDOM, ModelData.builder().with(ModProperties.MATERIAL_TEXTURE_PROPERTY, textureData).build()).asList();
-
-        final Set<RenderType> renderTypesWithAdditionalComponents = new HashSet<>(renderTypes);
-        renderTypesWithAdditionalComponents.add(RenderType.solid());
-
-        return renderTypesWithAdditionalComponents;
+        return MaterialMetadataCache.getInstance().get(textureData).itemRenderTypes();
     }
 
     @Override
@@ -180,26 +239,43 @@ public class MateriallyTexturedBakedModel implements BakedModel {
             return Collections.emptyList();
         }
 
-        MaterialTextureData textureData = MaterialTextureData.deserializeFromNBT(itemStack.getOrCreateTagElement("textureData"));
+        final CompoundTag textureDataTag = itemStack.getTagElement("textureData");
+        MaterialTextureData textureData = getTextureData(textureDataTag);
         if (textureData.isEmpty()) {
             textureData = generateRandomTextureDataFrom(itemStack);
         }
 
-        Collection<RenderType> renderTypes = getRenderTypes(blockItem, textureData);
+        final CompoundTag tag = itemStack.getTag();
+        final ItemRenderPassCache.Key key = ItemRenderPassCache.getInstance().getKey(textureDataTag, this, blockItem, tag == null ? "" : tag.getString("type"), textureData, fabulous);
+        final List<BakedModel> cachedPasses = ItemRenderPassCache.getInstance().get(key);
+        if (cachedPasses != null) {
+            return cachedPasses;
+        }
+
+        final List<RenderType> renderTypes = MaterialMetadataCache.getInstance().get(textureData).itemRenderTypes();
         if (renderTypes.isEmpty()) {
             return Collections.emptyList();
         }
 
-        MaterialTextureData finalTextureData = textureData;
-        final List<BakedModel> models = new ArrayList<>();
-        renderTypes.stream()
-                .map(type -> getRenderType(type, fabulous))
-                .distinct()
-                .map(type -> new SpecificRenderTypeBakedModelWrapper(
-                        type,
-                        getBakedInnerModelFor(itemStack, finalTextureData, blockItem.getBlock().defaultBlockState(), type)
-                )).forEach(models::add);
-        return models;
+        final BakedModel overriddenModel = Objects.requireNonNullElse(this.innerModel.getOverrides().resolve(this.innerModel, itemStack, null, null, 0), this.innerModel);
+        final ImmutableList.Builder<BakedModel> models = ImmutableList.builder();
+        for (final RenderType type : renderTypes.stream().map(type -> getRenderType(type, fabulous)).distinct().toList()) {
+            final BakedModel remappedModel = getBakedInnerModelFor(itemStack, overriddenModel, textureData, blockItem.getBlock().defaultBlockState(), type);
+            if (remappedModel == null) {
+                //The retextured model is still being built, render the untextured model until then.
+                return Collections.singletonList(overriddenModel);
+            }
+
+            models.add(new SpecificRenderTypeBakedModelWrapper(type, remappedModel));
+        }
+
+        final List<BakedModel> passes = models.build();
+        ItemRenderPassCache.getInstance().put(key, passes);
+        return passes;
+    }
+
+    private static MaterialTextureData getTextureData(@Nullable final CompoundTag textureDataTag) {
+        return textureDataTag == null ? MaterialTextureData.EMPTY : ItemRenderPassCache.getInstance().getTextureData(textureDataTag);
     }
 
     private BakedModel getBakedInnerModelFor(final ModelData modelData, final BlockState sourceState, final RenderType renderType) {
@@ -210,53 +286,192 @@ public class MateriallyTexturedBakedModel implements BakedModel {
         return getBakedInnerModelFor(modelData.get(ModProperties.MATERIAL_TEXTURE_PROPERTY), sourceState, renderType);
     }
 
+    /**
+     * Gets the retextured model for the given material data.
+     * When asynchronous baking is enabled, missing models are built in the background.
+     *
+     * @return The retextured model, or null while its bake is still running.
+     */
+    @Nullable
     private BakedModel getBakedInnerModelFor(final MaterialTextureData modelData, final BlockState sourceState, final RenderType renderType) {
-        try {
-            final BlockModelCacheKey key = new BlockModelCacheKey(modelData, renderType);
-            return cache.get(key, () -> {
-                final RetexturedBakedModelBuilder builder = RetexturedBakedModelBuilder.createFor(
-                        sourceState,
-                        renderType,
-                        false,
-                        this.innerModel
-                );
+        final BakedModelCache.Key key = new BakedModelCache.Key(this.innerModel, modelData, renderType, false);
+        final Callable<BakedModel> loader = createLoader(modelData, sourceState, renderType);
 
-                modelData.getTexturedComponents().forEach(builder::with);
+        try {
+            if (AsyncModelBaker.getInstance().isEnabled()) {
+                final BakedModel cachedModel = BakedModelCache.getInstance().getIfPresent(key);
+                if (cachedModel == null) {
+                    AsyncModelBaker.getInstance().bake(key, loader);
+                }
+                return cachedModel;
+            }
 
-                return builder.build();
-            });
+            return BakedModelCache.getInstance().get(key, loader);
         } catch (Exception exception) {
             LOGGER.error(String.format("Failed to build baked materially textured model for: %s %s", sourceState, modelData), exception);
             return Minecraft.getInstance().getModelManager().getMissingModel();
         }
     }
 
+    /**
+     * Gets the retextured model for the given item.
+     * When asynchronous baking is enabled, only a limited amount of missing models is built per frame, the rest is built in the background.
+     *
+     * @return The retextured model, or null while its bake is still running.
+     */
+    @Nullable
     private BakedModel getBakedInnerModelFor(final ItemStack stack,
+                                             final BakedModel overriddenModel,
                                              final MaterialTextureData textureData,
                                              final BlockState blockState,
                                              final RenderType renderType) {
+        final BakedModelCache.Key key = new BakedModelCache.Key(overriddenModel, textureData, renderType, true);
+        final Callable<BakedModel> loader = () -> {
+            final RetexturedBakedModelBuilder builder = RetexturedBakedModelBuilder.createFor(
+                    blockState,
+                    renderType,
+                    true,
+                    overriddenModel
+            );
+
+            textureData.getTexturedComponents().forEach(builder::with);
+
+            return builder.build();
+        };
+
         try {
-            final ItemModelCacheKey key = new ItemModelCacheKey(textureData, renderType, stack.serializeNBT());
-            return itemCache.get(
-                    key
-                    , () -> {
-                        final RetexturedBakedModelBuilder builder = RetexturedBakedModelBuilder.createFor(
-                                blockState,
-                                renderType,
-                                true,
-                                this.innerModel.getOverrides().resolve(this.innerModel, stack, null, null, 0)
-                        );
-
-                        textureData.getTexturedComponents().forEach(builder::with);
-
-                        return builder.build();
-                    });
+            if (AsyncModelBaker.getInstance().isEnabled()) {
+                final BakedModel cachedModel = BakedModelCache.getInstance().getIfPresent(key);
+                if (cachedModel != null) {
+                    return cachedModel;
+                }
+
+                if (!AsyncModelBaker.getInstance().tryClaimSynchronousItemBake()) {
+                    AsyncModelBaker.getInstance().bake(key, loader);
+                    return null;
+                }
+            }
+
+            return BakedModelCache.getInstance().get(key, loader);
         } catch (Exception exception) {
             LOGGER.error(String.format("Failed to build baked materially textured model for: %s for item: %s", textureData, stack), exception);
             return Minecraft.getInstance().getModelManager().getMissingModel();
         }
     }
 
+    private void scheduleSectionRebuildOnBake(final MaterialTextureData textureData, final BlockState state, final RenderType renderType, final BlockPos pos) {
+        final BakedModelCache.Key key = new BakedModelCache.Key(this.innerModel, textureData, renderType, false);
+        if (BakedModelCache.getInstance().getIfPresent(key) != null) {
+            return;
+        }
+
+        //A failed bake completes exceptionally and caches the missing model, so the section is only rebuilt once the model exists.
+        AsyncModelBaker.getInstance().bake(key, createLoader(textureData, state, renderType))
+                .thenRun(() -> Minecraft.getInstance().execute(() -> Minecraft.getInstance().levelRenderer.setSectionDirty(
+                        SectionPos.blockToSectionCoord(pos.getX()),
+                        SectionPos.blockToSectionCoord(pos.getY()),
+                        SectionPos.blockToSectionCoord(pos.getZ())
+                )));
+    }
+
+    /**
+     * Schedules the retextured models of all render types of the given material data to be built in the background.
+     *
+     * @param state       The block state the model is used for.
+     * @param textureData The material data.
+     */
+    public void prewarm(final BlockState state, final MaterialTextureData textureData) {
+        for (final RenderType renderType : MaterialMetadataCache.getInstance().get(textureData).renderTypes()) {
+            final BakedModelCache.Key key = new BakedModelCache.Key(this.innerModel, textureData, renderType, false);
+            if (BakedModelCache.getInstance().getIfPresent(key) == null) {
+                AsyncModelBaker.getInstance().bake(key, createLoader(textureData, state, renderType));
+            }
+        }
+    }
+
+    private Callable<BakedModel> createLoader(final MaterialTextureData modelData, final BlockState sourceState, final RenderType renderType) {
+        if (this.unrotatedModel == null || this.unrotatedModelLocation == null) {
+            return createRetexturingLoader(this.innerModel, this.modelLocation, this.rotation, this.uvLocked, modelData, sourceState, renderType);
+        }
+
+        final BakedModelCache.Key unrotatedKey = new BakedModelCache.Key(this.unrotatedModel, modelData, renderType, false);
+        final Callable<BakedModel> unrotatedLoader = createRetexturingLoader(this.unrotatedModel, this.unrotatedModelLocation, Transformation.identity(), false, modelData, sourceState, renderType);
+        if (this.rotation.isIdentity()) {
+            return () -> BakedModelCache.getInstance().get(unrotatedKey, unrotatedLoader);
+        }
+
+        if (!isDirectionIndependent(modelData, renderType)) {
+            return createRetexturingLoader(this.innerModel, this.modelLocation, this.rotation, this.uvLocked, modelData, sourceState, renderType);
+        }
+
+        //Retexture the unrotated model once for all rotations, and only rotate the result for this variant.
+        return () -> RotatedBakedModelBuilder.createFor(
+                sourceState,
+                renderType,
+                BakedModelCache.getInstance().get(unrotatedKey, unrotatedLoader),
+                this.rotation
+        ).build();
+    }
+
+    /**
+     * Creates the callback which retextures the given model.
+     * All render types of the material data are built in a single pass, the ones which were not requested are stored in the cache right away.
+     * The location, rotation and uv lock of the model identify it in the disk cache, since all variants of a block state share their location.
+     */
+    private Callable<BakedModel> createRetexturingLoader(final BakedModel sourceModel,
+                                                         final ResourceLocation sourceModelLocation,
+                                                         final Transformation sourceRotation,
+                                                         final boolean sourceUvLocked,
+                                                         final MaterialTextureData modelData,
+                                                         final BlockState sourceState,
+                                                         final RenderType renderType) {
+        return () -> {
+            final List<RenderType> renderTypes = getLayers(modelData, renderType);
+            final Map<RenderType, BakedModel> models = DiskModelCache.getInstance().getOrBake(sourceModelLocation, sourceRotation, sourceUvLocked, modelData, renderTypes, sourceModel, sourceState, () -> {
+                final RetexturedBakedModelBuilder builder = RetexturedBakedModelBuilder.createLayeredFor(
+                        sourceState,
+                        renderTypes,
+                        sourceModel
+                );
+
+                modelData.getTexturedComponents().forEach(builder::with);
+
+                return builder.buildLayers();
+            });
+
+            models.forEach((layer, model) -> {
+                if (layer != renderType) {
+                    BakedModelCache.getInstance().put(new BakedModelCache.Key(sourceModel, modelData, layer, false), model);
+                }
+            });
+            return models.get(renderType);
+        };
+    }
+
+    private static List<RenderType> getLayers(final MaterialTextureData modelData, final RenderType renderType) {
+        final List<RenderType> renderTypes = MaterialMetadataCache.getInstance().get(modelData).renderTypes().asList();
+        if (renderTypes.contains(renderType)) {
+            return renderTypes;
+        }
+
+        final List<RenderType> layers = new ArrayList<>(renderTypes);
+        layers.add(renderType);
+        return layers;
+    }
+
+    /**
+     * Whether all materials retexture every face with the same sprite, in which case retexturing commutes with rotating.
+     */
+    private static boolean isDirectionIndependent(final MaterialTextureData modelData, final RenderType renderType) {
+        for (final Block block : modelData.getTexturedComponents().values()) {
+            final BakedModel materialModel = Minecraft.getInstance().getBlockRenderer().getBlockModel(block.defaultBlockState());
+            if (!RetexturingSpriteCache.getInstance().isDirectionIndependent(materialModel, renderType)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
 
     private ChunkRenderTypeSet createAdaptedSetForEntity(ChunkRenderTypeSet renderTypes, boolean fabulous) {
         return ChunkRenderTypeSet.of(
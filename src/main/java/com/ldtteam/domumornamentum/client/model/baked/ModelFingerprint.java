@@ -0,0 +1,46 @@
+package com.ldtteam.domumornamentum.client.model.baked;
+
+import com.google.common.hash.Hashing;
+import org.joml.Matrix4fc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Computes the fingerprints which identify retextured models in the {@link DiskModelCache} across sessions.
+ * Only values which are stable across sessions are part of the fingerprint, so no identity hashes or numeric registry ids.
+ */
+public final class ModelFingerprint
+{
+    private ModelFingerprint()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: ModelFingerprint. This is a utility class");
+    }
+
+    /**
+     * Computes the fingerprint of a retextured model.
+     * All variants of a block state share their model location, so the rotation and uv lock of the variant are part of the fingerprint.
+     *
+     * @param modelLocation The location of the model.
+     * @param rotation      The rotation matrix the model was baked with.
+     * @param uvLocked      Whether the model was baked with uv lock.
+     * @param layer         The index of the chunk layer the model is built for.
+     * @param components    The block id of every component by the id of the component.
+     * @return The fingerprint.
+     */
+    public static long of(final String modelLocation, final Matrix4fc rotation, final boolean uvLocked, final int layer, final Map<String, String> components)
+    {
+        final StringBuilder builder = new StringBuilder(modelLocation);
+        for (final float value : rotation.get(new float[16]))
+        {
+            //Rounded, so that the fingerprint does not depend on rounding errors of the rotation.
+            builder.append('|').append(Math.round(value * 1000));
+        }
+        builder.append('|').append(uvLocked).append('|').append(layer);
+        components.entrySet().stream()
+          .sorted(Map.Entry.comparingByKey())
+          .forEach(entry -> builder.append('|').append(entry.getKey()).append('=').append(entry.getValue()));
+
+        return Hashing.murmur3_128().hashString(builder, StandardCharsets.UTF_8).asLong();
+    }
+}
@@ -0,0 +1,82 @@
+package com.ldtteam.domumornamentum.client.model.baked;
+
+import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
+import com.ldtteam.domumornamentum.config.ClientConfig;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Retextures the models of received materially textured blocks in the background, before the chunk builders ask for them.
+ * The blocks received during a client tick are collected and scheduled at the end of the tick, closest to the player first.
+ */
+public final class ModelPrewarmer
+{
+    private static final ModelPrewarmer INSTANCE = new ModelPrewarmer();
+
+    public static ModelPrewarmer getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private record Request(BlockPos pos, BlockState state, MaterialTextureData data) { }
+
+    private record Combination(BakedModel model, MaterialTextureData data) { }
+
+    private final List<Request> requests = new ArrayList<>();
+
+    private ModelPrewarmer()
+    {
+    }
+
+    /**
+     * Queues the model of the given block to be retextured.
+     * Needs to be called on the client thread.
+     *
+     * @param pos   The position of the block.
+     * @param state The state of the block.
+     * @param data  The material data of the block.
+     */
+    public void enqueue(final BlockPos pos, final BlockState state, final MaterialTextureData data)
+    {
+        if (data.isEmpty() || !ClientConfig.getInstance().isPrewarmingEnabled())
+            return;
+
+        requests.add(new Request(pos.immutable(), state, data));
+    }
+
+    /**
+     * Schedules the bakes of all distinct material combinations queued during the current tick.
+     */
+    public void onClientTickEnd()
+    {
+        if (requests.isEmpty())
+            return;
+
+        final Player player = Minecraft.getInstance().player;
+        if (player != null)
+        {
+            requests.sort(Comparator.comparingDouble(request -> request.pos().distToCenterSqr(player.position())));
+        }
+
+        final Set<Combination> scheduled = new HashSet<>();
+        for (final Request request : requests)
+        {
+            final BakedModel model = Minecraft.getInstance().getBlockRenderer().getBlockModel(request.state());
+            if (model instanceof final MateriallyTexturedBakedModel materiallyTexturedModel && scheduled.add(new Combination(model, request.data())))
+            {
+                materiallyTexturedModel.prewarm(request.state(), request.data());
+            }
+        }
+
+        requests.clear();
+    }
+}
@@ -0,0 +1,92 @@
+package com.ldtteam.domumornamentum.client.model.baked;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+
+import java.util.Arrays;
+
+/**
+ * Deduplicates identical retextured quads across all cached models.
+ * Material combinations which only differ in some components produce identical quads for all other components, those are only stored once.
+ * Quads are held weakly, so a quad and its vertex data are dropped once no cached model uses it anymore.
+ */
+public final class QuadInterner
+{
+    private static final QuadInterner INSTANCE = new QuadInterner();
+
+    public static QuadInterner getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * A quad which is compared by its content.
+     * The interner holds these quads themselves weakly, so nothing but the models which use a quad keeps it or its vertex data alive.
+     * The vertex data is shared with the original quad, so it is not copied.
+     */
+    private static final class InternedQuad extends BakedQuad
+    {
+        private final int hash;
+
+        private InternedQuad(final BakedQuad quad)
+        {
+            super(quad.getVertices(), quad.getTintIndex(), quad.getDirection(), quad.getSprite(), quad.isShade(), quad.hasAmbientOcclusion());
+
+            int hash = Arrays.hashCode(getVertices());
+            hash = 31 * hash + getTintIndex();
+            hash = 31 * hash + getDirection().hashCode();
+            hash = 31 * hash + System.identityHashCode(getSprite());
+            hash = 31 * hash + Boolean.hashCode(isShade());
+            this.hash = 31 * hash + Boolean.hashCode(hasAmbientOcclusion());
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+                return true;
+            if (!(o instanceof final InternedQuad that))
+                return false;
+
+            return hash == that.hash
+                     && getTintIndex() == that.getTintIndex()
+                     && getDirection() == that.getDirection()
+                     && getSprite() == that.getSprite()
+                     && isShade() == that.isShade()
+                     && hasAmbientOcclusion() == that.hasAmbientOcclusion()
+                     && Arrays.equals(getVertices(), that.getVertices());
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+
+    private volatile Interner<InternedQuad> quads = Interners.newWeakInterner();
+
+    private QuadInterner()
+    {
+    }
+
+    /**
+     * Gets the shared instance of the given quad.
+     *
+     * @param quad The quad to intern.
+     * @return The interned quad with the same content as the given quad, which shares the vertex data of the given quad if it is the first of its kind.
+     */
+    public BakedQuad intern(final BakedQuad quad)
+    {
+        return quads.intern(quad instanceof final InternedQuad internedQuad ? internedQuad : new InternedQuad(quad));
+    }
+
+    /**
+     * Drops all interned quads, needs to be called when the models are reloaded since the sprites are replaced in that case.
+     */
+    public void invalidate()
+    {
+        this.quads = Interners.newWeakInterner();
+    }
+}
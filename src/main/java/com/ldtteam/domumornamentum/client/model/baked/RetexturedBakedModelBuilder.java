@@ -1,7 +1,9 @@
 package com.ldtteam.domumornamentum.client.model.baked;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import com.ldtteam.domumornamentum.client.model.utils.ModelSpriteQuadTransformer;
+import com.ldtteam.domumornamentum.config.ClientConfig;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.client.renderer.Sheets;
@@ -15,43 +17,72 @@ import net.minecraft.util.RandomSource;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.client.ChunkRenderTypeSet;
 import net.minecraftforge.client.RenderTypeGroup;
-import net.minecraftforge.client.model.IQuadTransformer;
 import net.minecraftforge.client.model.data.ModelData;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 @SuppressWarnings("resource")
 public class RetexturedBakedModelBuilder
 {
 
     private static final RandomSource RANDOM = RandomSource.create();
+    private static final Logger       LOGGER = LogManager.getLogger();
+    private static final Direction[]  CULL_FACES = { null, Direction.DOWN, Direction.UP, Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST };
 
     public static RetexturedBakedModelBuilder createFor(BlockState sourceState, RenderType renderType, boolean itemStackMode, final BakedModel target)
     {
-        return new RetexturedBakedModelBuilder(target, sourceState, renderType, itemStackMode, target);
+        return new RetexturedBakedModelBuilder(target, sourceState, List.of(renderType), itemStackMode, target);
     }
 
     public static RetexturedBakedModelBuilder createFor(BlockState sourceState, RenderType renderType, boolean itemStackMode, final BakedModel sourceModel, final BakedModel target)
     {
-        return new RetexturedBakedModelBuilder(sourceModel, sourceState, renderType, itemStackMode, target);
+        return new RetexturedBakedModelBuilder(sourceModel, sourceState, List.of(renderType), itemStackMode, target);
     }
 
+    /**
+     * Creates a builder which retextures the target model for multiple render types of a block in a single pass over its quads.
+     *
+     * @param sourceState The block state the model is built for.
+     * @param renderTypes The render types to build.
+     * @param target      The model to retexture.
+     * @return The builder, whose {@link #buildLayers()} returns one model per render type.
+     */
+    public static RetexturedBakedModelBuilder createLayeredFor(BlockState sourceState, List<RenderType> renderTypes, final BakedModel target)
+    {
+        return new RetexturedBakedModelBuilder(target, sourceState, renderTypes, false, target);
+    }
+
+    /**
+     * The retexturing of a sprite of the target model.
+     *
+     * @param targetModel The model of the material, null if the quads with the sprite are erased.
+     * @param layers      The render types in which the material is rendered, the quads with the sprite are erased in all other render types.
+     */
+    private record Retexturing(@Nullable BakedModel targetModel, Predicate<RenderType> layers) { }
+
     private final BakedModel sourceModel;
     private final BakedModel target;
-    private final RenderType renderType;
+    private final List<RenderType> renderTypes;
     private final BlockState sourceState;
     private final boolean itemStackMode;
-    private final Map<ResourceLocation, BakedModel> retexturingMaps = Maps.newHashMap();
+    private final Map<ResourceLocation, Retexturing> retexturingMaps = Maps.newHashMap();
+    private final Map<SpritePair, ModelSpriteQuadTransformer.SpriteMapping> spriteMappings = Maps.newHashMap();
 
-    private RetexturedBakedModelBuilder(final BakedModel sourceModel, BlockState sourceState, RenderType renderType, boolean itemStackMode, final BakedModel target) {
+    private record SpritePair(TextureAtlasSprite source, TextureAtlasSprite target) { }
+
+    private RetexturedBakedModelBuilder(final BakedModel sourceModel, BlockState sourceState, List<RenderType> renderTypes, boolean itemStackMode, final BakedModel target) {
         this.sourceModel = sourceModel;
         this.sourceState = sourceState;
-        this.renderType = renderType;
+        this.renderTypes = renderTypes;
         this.itemStackMode = itemStackMode;
         this.target = target;
     }
@@ -60,7 +91,7 @@ public class RetexturedBakedModelBuilder
       final ResourceLocation source,
       @Nullable final BakedModel target
     ) {
-        this.retexturingMaps.putIfAbsent(source, target);
+        this.retexturingMaps.putIfAbsent(source, new Retexturing(target, layer -> true));
         return this;
     }
 
@@ -72,133 +103,163 @@ public class RetexturedBakedModelBuilder
         final BakedModel bakedModel = Minecraft.getInstance().getBlockRenderer().getBlockModel(defaultState);
 
        if (!itemStackMode) {
-           if (bakedModel.getRenderTypes(target.defaultBlockState(), RANDOM, ModelData.EMPTY).contains(this.renderType)) {
-               return this.with(source, bakedModel);
-           }
-           else {
-               return this.withOut(source);
-           }
+           final ChunkRenderTypeSet materialRenderTypes = bakedModel.getRenderTypes(defaultState, RANDOM, ModelData.EMPTY);
+           this.retexturingMaps.putIfAbsent(source, new Retexturing(bakedModel, materialRenderTypes::contains));
        } else {
-           if (bakedModel.getRenderTypes(new ItemStack(target), Minecraft.useShaderTransparency()).contains(this.renderType)) {
-               return this.with(source, bakedModel);
-           }
-           else {
-               return this.withOut(source);
-           }
+           final List<RenderType> materialRenderTypes = bakedModel.getRenderTypes(new ItemStack(target), Minecraft.useShaderTransparency());
+           this.retexturingMaps.putIfAbsent(source, new Retexturing(bakedModel, materialRenderTypes::contains));
        }
-
+       return this;
     }
 
     public RetexturedBakedModelBuilder withOut(
             final ResourceLocation source
     ) {
-        this.retexturingMaps.putIfAbsent(source, null);
+        this.retexturingMaps.putIfAbsent(source, new Retexturing(null, layer -> false));
         return this;
     }
 
+    /**
+     * Builds the retextured model of the render type of this builder.
+     *
+     * @return The retextured model.
+     */
     public BakedModel build() {
-        final SimpleBakedModel.Builder builder = new SimpleBakedModel.Builder(
-                sourceModel.useAmbientOcclusion(this.sourceState, this.renderType),
-                sourceModel.usesBlockLight(),
-                sourceModel.isGui3d(),
-                sourceModel.getTransforms(),
-                sourceModel.getOverrides()
-        );
-
-        this.target.getQuads(null, null, RANDOM, ModelData.EMPTY, this.renderType).forEach(quad -> {
-            if (needsRetexturing(this.retexturingMaps, quad.getSprite()))
-            {
-                retexture(quad, null).ifPresent(builder::addUnculledFace);
-            }
-            else if (!needsErasure(this.retexturingMaps, quad.getSprite()))
-            {
-                builder.addUnculledFace(quad);
-            }
-        });
+        return buildLayers().get(this.renderTypes.get(0));
+    }
 
-        for (final Direction value : Direction.values())
+    /**
+     * Builds the retextured models of all render types of this builder.
+     * The quads of the target model are only traversed once, and sorted into the model of every render type their material is rendered in.
+     *
+     * @return The retextured models by render type.
+     */
+    public Map<RenderType, BakedModel> buildLayers() {
+        final int layerCount = this.renderTypes.size();
+        final SimpleBakedModel.Builder[] builders = new SimpleBakedModel.Builder[layerCount];
+        final int[][] expectedQuadCounts = new int[layerCount][CULL_FACES.length];
+        for (int layer = 0; layer < layerCount; layer++)
         {
-            this.target.getQuads(null, value, RANDOM, ModelData.EMPTY, this.renderType).forEach(quad -> {
-                if (needsRetexturing(this.retexturingMaps, quad.getSprite()))
-                {
-                    retexture(quad, value).ifPresent(newQuad -> builder.addCulledFace(value, newQuad));
-                }
-
-                else if (!needsErasure(this.retexturingMaps, quad.getSprite()))
-                {
-                    builder.addUnculledFace(quad);
-                }
-            });
+            builders[layer] = new SimpleBakedModel.Builder(
+                    sourceModel.useAmbientOcclusion(this.sourceState, this.renderTypes.get(layer)),
+                    sourceModel.usesBlockLight(),
+                    sourceModel.isGui3d(),
+                    sourceModel.getTransforms(),
+                    sourceModel.getOverrides()
+            );
         }
 
-        TextureAtlasSprite particleTexture = this.target.getParticleIcon(ModelData.EMPTY);
-        if (needsRetexturing(this.retexturingMaps, particleTexture))
+        //A single render type is queried directly, multiple render types are sorted out of all quads of the target.
+        final RenderType queriedRenderType = layerCount == 1 ? this.renderTypes.get(0) : null;
+        for (int i = 0; i < CULL_FACES.length; i++)
         {
-            final BakedModel particleOverrideTextureModel = this.retexturingMaps.get(particleTexture.contents().name());
-            particleTexture = particleOverrideTextureModel.getParticleIcon(ModelData.EMPTY);
+            final Direction cullFace = CULL_FACES[i];
+            for (final BakedQuad quad : this.target.getQuads(null, cullFace, RANDOM, ModelData.EMPTY, queriedRenderType))
+            {
+                addQuad(builders, expectedQuadCounts, i, quad);
+            }
         }
-        builder.particle(particleTexture);
 
-        return builder.build();
-    }
+        final TextureAtlasSprite particleTexture = this.target.getParticleIcon(ModelData.EMPTY);
+        final Retexturing particleRetexturing = this.retexturingMaps.get(particleTexture.contents().name());
+        final boolean verify = ClientConfig.getInstance().isRetexturingVerificationEnabled();
+        final ImmutableMap.Builder<RenderType, BakedModel> models = ImmutableMap.builder();
+        for (int layer = 0; layer < layerCount; layer++)
+        {
+            final RenderType renderType = this.renderTypes.get(layer);
+            if (particleRetexturing != null && particleRetexturing.targetModel() != null && particleRetexturing.layers().test(renderType))
+            {
+                builders[layer].particle(particleRetexturing.targetModel().getParticleIcon(ModelData.EMPTY));
+            }
+            else
+            {
+                builders[layer].particle(particleTexture);
+            }
 
-    private boolean needsRetexturing(Map<ResourceLocation, BakedModel> retexturingMaps, TextureAtlasSprite quad) {
-        return retexturingMaps.containsKey(quad.contents().name()) && retexturingMaps.get(quad.contents().name()) != null;
-    }
+            final BakedModel result = builders[layer].build();
+            if (verify)
+            {
+                verify(result, renderType, expectedQuadCounts[layer]);
+            }
+            models.put(renderType, result);
+        }
 
-    private boolean needsErasure(Map<ResourceLocation, BakedModel> retexturingMaps, TextureAtlasSprite quad) {
-        return retexturingMaps.containsKey(quad.contents().name()) && retexturingMaps.get(quad.contents().name()) == null;
+        return models.build();
     }
 
-    private Optional<BakedQuad> retexture(@NotNull BakedQuad quad, @Nullable Direction direction)
+    /**
+     * Adds the retextured quad to the builders of all render types it is rendered in, keeping its cull face.
+     * The quads of erased materials are not added and not counted as expected quads.
+     */
+    private void addQuad(final SimpleBakedModel.Builder[] builders, final int[][] expectedQuadCounts, final int cullFaceIndex, final BakedQuad quad)
     {
-        if (!needsRetexturing(this.retexturingMaps, quad.getSprite()))
-            return Optional.empty();
+        final Direction cullFace = CULL_FACES[cullFaceIndex];
+        final Retexturing retexturing = this.retexturingMaps.get(quad.getSprite().contents().name());
 
-        if (needsErasure(this.retexturingMaps, quad.getSprite()))
-            return Optional.empty();
+        BakedQuad lastResult = null;
+        for (int layer = 0; layer < builders.length; layer++)
+        {
+            final RenderType renderType = this.renderTypes.get(layer);
+            final BakedQuad result;
+            if (retexturing == null)
+            {
+                result = quad;
+            }
+            else
+            {
+                if (retexturing.targetModel() == null || !retexturing.layers().test(renderType))
+                    continue;
 
-        final Optional<TextureAtlasSprite> retexturingSprite = this.getTexture(quad, direction);
+                //Most materials resolve to the same sprite in all of their render types, reuse the quad in that case.
+                final TextureAtlasSprite retexturingSprite = RetexturingSpriteCache.getInstance().resolve(retexturing.targetModel(), renderType, cullFace, quad.getDirection());
+                if (lastResult != null && lastResult.getSprite() == retexturingSprite)
+                {
+                    result = lastResult;
+                }
+                else
+                {
+                    result = retexture(quad, retexturingSprite).orElse(null);
+                }
+            }
 
-        return retexturingSprite.map(sprite -> {
-            final IQuadTransformer quadTransformer = ModelSpriteQuadTransformer.create(sprite);
-            return quadTransformer.process(quad);
-        });
+            expectedQuadCounts[layer][cullFaceIndex]++;
+            if (result == null)
+                continue;
+
+            lastResult = result;
+            if (cullFace == null)
+            {
+                builders[layer].addUnculledFace(result);
+            }
+            else
+            {
+                builders[layer].addCulledFace(cullFace, result);
+            }
+        }
     }
 
-    private Optional<TextureAtlasSprite> getTexture(@NotNull BakedQuad quad, @Nullable Direction direction)
+    private void verify(final BakedModel result, final RenderType renderType, final int[] expectedQuadCounts)
     {
-        if (!needsRetexturing(retexturingMaps, quad.getSprite())) {
-            return Optional.empty();
+        for (int i = 0; i < CULL_FACES.length; i++)
+        {
+            final int actualQuadCount = result.getQuads(null, CULL_FACES[i], RANDOM, ModelData.EMPTY, renderType).size();
+            if (actualQuadCount != expectedQuadCounts[i])
+            {
+                LOGGER.warn("Retextured model of {} in {} has {} instead of {} quads with cull face {}.",
+                        this.sourceState, renderType, actualQuadCount, expectedQuadCounts[i], CULL_FACES[i]);
+            }
         }
+    }
 
-        if (needsErasure(retexturingMaps, quad.getSprite())) {
+    private Optional<BakedQuad> retexture(@NotNull BakedQuad quad, @Nullable TextureAtlasSprite retexturingSprite)
+    {
+        if (retexturingSprite == null)
             return Optional.empty();
-        }
 
-        final BakedModel targetModel = this.retexturingMaps.get(quad.getSprite().contents().name());
-        List<BakedQuad> targetQuads = targetModel.getQuads(
-          null,
-          direction,
-          RANDOM,
-          ModelData.EMPTY,
-          this.renderType
+        final ModelSpriteQuadTransformer.SpriteMapping mapping = spriteMappings.computeIfAbsent(
+                new SpritePair(quad.getSprite(), retexturingSprite),
+                pair -> ModelSpriteQuadTransformer.SpriteMapping.of(pair.source(), pair.target())
         );
-
-        //If we did not find anything, that might be because the target model specifies culling while our source did not.
-        //Lets try with the targeting direction (the normal) of the quad itself.
-        if (targetQuads.isEmpty())
-            targetQuads = targetModel.getQuads(
-              null,
-              quad.getDirection(),
-              RANDOM,
-              ModelData.EMPTY,
-              this.renderType
-            );
-
-        if(targetQuads.isEmpty())
-            return Optional.empty();
-
-        return Optional.of(targetQuads.get(0).getSprite());
+        return Optional.of(QuadInterner.getInstance().intern(ModelSpriteQuadTransformer.retexture(quad, mapping)));
     }
 }
@@ -0,0 +1,137 @@
+package com.ldtteam.domumornamentum.client.model.baked;
+
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.core.Direction;
+import net.minecraft.util.RandomSource;
+import net.minecraftforge.client.model.data.ModelData;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global table of the sprites which replace the sprites of a retextured quad.
+ * The sprite only depends on the model of the material block, the render type, the cull face and the face of the quad,
+ * so it is resolved once for all of them and reused by every bake until the models are reloaded.
+ */
+public final class RetexturingSpriteCache
+{
+    private static final RetexturingSpriteCache INSTANCE = new RetexturingSpriteCache();
+
+    public static RetexturingSpriteCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private static final RandomSource RANDOM     = RandomSource.create();
+    private static final Direction[]  DIRECTIONS = Direction.values();
+    private static final int          CULL_FACES = DIRECTIONS.length + 1;
+
+    private record Key(BakedModel targetModel, RenderType renderType) { }
+
+    /**
+     * The resolved sprites of a target model.
+     *
+     * @param sprites              The sprites by cull face and quad face.
+     * @param directionIndependent Whether all faces resolve to the same sprite.
+     */
+    private record Resolved(TextureAtlasSprite[] sprites, boolean directionIndependent) { }
+
+    private final Map<Key, Resolved> sprites = new ConcurrentHashMap<>();
+
+    private RetexturingSpriteCache()
+    {
+    }
+
+    /**
+     * Resolves the sprite of the target model which replaces the sprite of a quad.
+     *
+     * @param targetModel The model of the material block.
+     * @param renderType  The render type which is being built.
+     * @param cullFace    The cull face of the quad, null if the quad is not culled.
+     * @param quadFace    The face the quad is pointing to.
+     * @return The sprite to use, or null if the target model has no quads for the given faces.
+     */
+    @Nullable
+    public TextureAtlasSprite resolve(final BakedModel targetModel, final RenderType renderType, @Nullable final Direction cullFace, final Direction quadFace)
+    {
+        return get(targetModel, renderType).sprites()[getIndex(cullFace) * DIRECTIONS.length + quadFace.ordinal()];
+    }
+
+    /**
+     * Whether every quad, regardless of its faces, is retextured with the same sprite of the target model.
+     * Models retextured with such target models can be rotated after retexturing, instead of being retextured per rotation.
+     *
+     * @param targetModel The model of the material block.
+     * @param renderType  The render type which is being built.
+     * @return True when all faces resolve to the same sprite.
+     */
+    public boolean isDirectionIndependent(final BakedModel targetModel, final RenderType renderType)
+    {
+        return get(targetModel, renderType).directionIndependent();
+    }
+
+    private Resolved get(final BakedModel targetModel, final RenderType renderType)
+    {
+        return sprites.computeIfAbsent(new Key(targetModel, renderType), RetexturingSpriteCache::resolveAll);
+    }
+
+    /**
+     * Clears the table, needs to be called when the models are reloaded.
+     */
+    public void invalidate()
+    {
+        sprites.clear();
+    }
+
+    private static int getIndex(@Nullable final Direction cullFace)
+    {
+        return cullFace == null ? DIRECTIONS.length : cullFace.ordinal();
+    }
+
+    private static Resolved resolveAll(final Key key)
+    {
+        final TextureAtlasSprite[] firstSprites = new TextureAtlasSprite[CULL_FACES];
+        firstSprites[getIndex(null)] = getFirstSprite(key, null);
+        for (final Direction direction : DIRECTIONS)
+        {
+            firstSprites[getIndex(direction)] = getFirstSprite(key, direction);
+        }
+
+        final TextureAtlasSprite[] resolved = new TextureAtlasSprite[CULL_FACES * DIRECTIONS.length];
+        for (int cullFace = 0; cullFace < CULL_FACES; cullFace++)
+        {
+            for (final Direction quadFace : DIRECTIONS)
+            {
+                //If we did not find anything, that might be because the target model specifies culling while our source did not.
+                //Lets try with the targeting direction (the normal) of the quad itself.
+                final TextureAtlasSprite sprite = firstSprites[cullFace];
+                resolved[cullFace * DIRECTIONS.length + quadFace.ordinal()] = sprite != null ? sprite : firstSprites[getIndex(quadFace)];
+            }
+        }
+
+        return new Resolved(resolved, isUniform(resolved));
+    }
+
+    private static boolean isUniform(final TextureAtlasSprite[] resolved)
+    {
+        for (final TextureAtlasSprite sprite : resolved)
+        {
+            if (sprite == null || sprite != resolved[0])
+                return false;
+        }
+
+        return true;
+    }
+
+    @Nullable
+    private static TextureAtlasSprite getFirstSprite(final Key key, @Nullable final Direction direction)
+    {
+        final List<BakedQuad> quads = key.targetModel().getQuads(null, direction, RANDOM, ModelData.EMPTY, key.renderType());
+        return quads.isEmpty() ? null : quads.get(0).getSprite();
+    }
+}
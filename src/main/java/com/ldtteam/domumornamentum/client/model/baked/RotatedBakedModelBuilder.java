@@ -0,0 +1,151 @@
+package com.ldtteam.domumornamentum.client.model.baked;
+
+import com.mojang.math.Transformation;
+import net.minecraft.client.renderer.FaceInfo;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.client.resources.model.SimpleBakedModel;
+import net.minecraft.core.Direction;
+import net.minecraft.util.Mth;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.client.model.IQuadTransformer;
+import net.minecraftforge.client.model.QuadTransformers;
+import net.minecraftforge.client.model.data.ModelData;
+import org.joml.Matrix4f;
+
+/**
+ * Rotates an already retextured model, which was baked without rotation, into the rotation of a block state variant.
+ * The rotated quads are rewound into the vertex order the {@link net.minecraft.client.renderer.block.model.FaceBakery} uses for their new direction,
+ * so that their ambient occlusion corners match the ones of the rotated variant.
+ * The result covers the same faces with the same textures as retexturing the rotated variant directly, as long as the variant is not uv locked
+ * and the materials use the same sprite on every face; quads of rotated elements keep their rotated vertex order, since the face bakery does not rewind those either.
+ */
+public class RotatedBakedModelBuilder
+{
+    private static final RandomSource RANDOM       = RandomSource.create();
+    private static final Direction[]  CULL_FACES   = { null, Direction.DOWN, Direction.UP, Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST };
+    private static final int          VERTEX_COUNT = 4;
+
+    public static RotatedBakedModelBuilder createFor(BlockState sourceState, RenderType renderType, final BakedModel source, final Transformation rotation)
+    {
+        return new RotatedBakedModelBuilder(source, sourceState, renderType, rotation);
+    }
+
+    private final BakedModel     source;
+    private final BlockState     sourceState;
+    private final RenderType     renderType;
+    private final Transformation rotation;
+
+    private RotatedBakedModelBuilder(final BakedModel source, final BlockState sourceState, final RenderType renderType, final Transformation rotation)
+    {
+        this.source = source;
+        this.sourceState = sourceState;
+        this.renderType = renderType;
+        this.rotation = rotation;
+    }
+
+    public BakedModel build()
+    {
+        final SimpleBakedModel.Builder builder = new SimpleBakedModel.Builder(
+                source.useAmbientOcclusion(this.sourceState, this.renderType),
+                source.usesBlockLight(),
+                source.isGui3d(),
+                source.getTransforms(),
+                source.getOverrides()
+        );
+
+        //Block state rotations rotate around the center of the block, while the vertices are relative to its corner.
+        final IQuadTransformer transformer = QuadTransformers.applying(this.rotation.blockCenterToCorner());
+        final Matrix4f matrix = this.rotation.getMatrix();
+        for (final Direction cullFace : CULL_FACES)
+        {
+            for (final BakedQuad quad : this.source.getQuads(null, cullFace, RANDOM, ModelData.EMPTY, this.renderType))
+            {
+                final Direction direction = Direction.rotate(matrix, quad.getDirection());
+                final BakedQuad rotatedQuad = QuadInterner.getInstance().intern(new BakedQuad(
+                        rewind(transformer.process(quad).getVertices(), direction),
+                        quad.getTintIndex(),
+                        direction,
+                        quad.getSprite(),
+                        quad.isShade(),
+                        quad.hasAmbientOcclusion()
+                ));
+
+                if (cullFace == null)
+                {
+                    builder.addUnculledFace(rotatedQuad);
+                }
+                else
+                {
+                    builder.addCulledFace(Direction.rotate(matrix, cullFace), rotatedQuad);
+                }
+            }
+        }
+
+        builder.particle(this.source.getParticleIcon(ModelData.EMPTY));
+        return builder.build();
+    }
+
+    /**
+     * Reorders the vertices of an axis aligned quad into the canonical order of the given direction, like the face bakery does when baking a face.
+     * The vertex data of each corner moves along with its position.
+     *
+     * @param vertices  The vertex data of the quad.
+     * @param direction The direction of the quad.
+     * @return The reordered vertex data, or the given vertex data when the quad is not axis aligned.
+     */
+    private static int[] rewind(final int[] vertices, final Direction direction)
+    {
+        //The bounds of the quad, indexed by the direction of the bound, as the face info expects.
+        final float[] bounds = new float[Direction.values().length];
+        bounds[Direction.WEST.get3DDataValue()] = Float.POSITIVE_INFINITY;
+        bounds[Direction.DOWN.get3DDataValue()] = Float.POSITIVE_INFINITY;
+        bounds[Direction.NORTH.get3DDataValue()] = Float.POSITIVE_INFINITY;
+        bounds[Direction.EAST.get3DDataValue()] = Float.NEGATIVE_INFINITY;
+        bounds[Direction.UP.get3DDataValue()] = Float.NEGATIVE_INFINITY;
+        bounds[Direction.SOUTH.get3DDataValue()] = Float.NEGATIVE_INFINITY;
+        for (int vertex = 0; vertex < VERTEX_COUNT; vertex++)
+        {
+            final int offset = vertex * IQuadTransformer.STRIDE + IQuadTransformer.POSITION;
+            final float x = Float.intBitsToFloat(vertices[offset]);
+            final float y = Float.intBitsToFloat(vertices[offset + 1]);
+            final float z = Float.intBitsToFloat(vertices[offset + 2]);
+            bounds[Direction.WEST.get3DDataValue()] = Math.min(bounds[Direction.WEST.get3DDataValue()], x);
+            bounds[Direction.DOWN.get3DDataValue()] = Math.min(bounds[Direction.DOWN.get3DDataValue()], y);
+            bounds[Direction.NORTH.get3DDataValue()] = Math.min(bounds[Direction.NORTH.get3DDataValue()], z);
+            bounds[Direction.EAST.get3DDataValue()] = Math.max(bounds[Direction.EAST.get3DDataValue()], x);
+            bounds[Direction.UP.get3DDataValue()] = Math.max(bounds[Direction.UP.get3DDataValue()], y);
+            bounds[Direction.SOUTH.get3DDataValue()] = Math.max(bounds[Direction.SOUTH.get3DDataValue()], z);
+        }
+
+        final FaceInfo faceInfo = FaceInfo.fromFacing(direction);
+        final int[] rewound = new int[vertices.length];
+        for (int vertex = 0; vertex < VERTEX_COUNT; vertex++)
+        {
+            final FaceInfo.VertexInfo vertexInfo = faceInfo.getVertexInfo(vertex);
+            final int source = findVertex(vertices, bounds[vertexInfo.xFace], bounds[vertexInfo.yFace], bounds[vertexInfo.zFace]);
+            if (source < 0)
+                return vertices;
+
+            System.arraycopy(vertices, source * IQuadTransformer.STRIDE, rewound, vertex * IQuadTransformer.STRIDE, IQuadTransformer.STRIDE);
+        }
+
+        return rewound;
+    }
+
+    private static int findVertex(final int[] vertices, final float x, final float y, final float z)
+    {
+        for (int vertex = 0; vertex < VERTEX_COUNT; vertex++)
+        {
+            final int offset = vertex * IQuadTransformer.STRIDE + IQuadTransformer.POSITION;
+            if (Mth.equal(Float.intBitsToFloat(vertices[offset]), x)
+                  && Mth.equal(Float.intBitsToFloat(vertices[offset + 1]), y)
+                  && Mth.equal(Float.intBitsToFloat(vertices[offset + 2]), z))
+                return vertex;
+        }
+
+        return -1;
+    }
+}
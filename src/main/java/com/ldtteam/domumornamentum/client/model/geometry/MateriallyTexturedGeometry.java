@@ -5,6 +5,7 @@ import net.minecraft.client.renderer.block.model.BlockModel;
 import net.minecraft.client.renderer.block.model.ItemOverrides;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.client.resources.model.BlockModelRotation;
 import net.minecraft.client.resources.model.Material;
 import net.minecraft.client.resources.model.ModelBaker;
 import net.minecraft.client.resources.model.ModelState;
@@ -38,6 +39,17 @@ public class MateriallyTexturedGeometry implements IUnbakedGeometry<MateriallyTe
                 baker, spriteGetter, modelState, modelLocation
         );
 
-        return new MateriallyTexturedBakedModel(innerBakedModel);
+        if (modelState.isUvLocked()) {
+            //Uv locked variants have rotated texture coordinates, so they can not be derived from the unrotated model.
+            return new MateriallyTexturedBakedModel(innerBakedModel, modelLocation, modelState.getRotation(), modelState.isUvLocked());
+        }
+
+        //The unrotated model is shared by all variants of the inner model, which allows them to share its retextured models.
+        final BakedModel unrotatedBakedModel = baker.bake(this.innerModelLocation, BlockModelRotation.X0_Y0, spriteGetter);
+        if (unrotatedBakedModel == null) {
+            return new MateriallyTexturedBakedModel(innerBakedModel, modelLocation, modelState.getRotation(), modelState.isUvLocked());
+        }
+
+        return new MateriallyTexturedBakedModel(innerBakedModel, modelLocation, unrotatedBakedModel, this.innerModelLocation, modelState.getRotation(), modelState.isUvLocked());
     }
 }
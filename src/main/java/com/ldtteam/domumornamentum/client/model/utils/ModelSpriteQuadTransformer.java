@@ -10,6 +10,69 @@ public class ModelSpriteQuadTransformer implements IQuadTransformer
         return new ModelSpriteQuadTransformer(target);
     }
 
+    /**
+     * Affine mapping of the texture coordinates of one sprite onto another sprite.
+     *
+     * @param source  The sprite which is replaced.
+     * @param target  The sprite which replaces the source.
+     * @param uScale  The factor applied to the u coordinates.
+     * @param uOffset The offset added to the scaled u coordinates.
+     * @param vScale  The factor applied to the v coordinates.
+     * @param vOffset The offset added to the scaled v coordinates.
+     */
+    public record SpriteMapping(TextureAtlasSprite source, TextureAtlasSprite target, float uScale, float uOffset, float vScale, float vOffset)
+    {
+        public static SpriteMapping of(final TextureAtlasSprite source, final TextureAtlasSprite target)
+        {
+            final float uScale = (target.getU1() - target.getU0()) / (source.getU1() - source.getU0());
+            final float vScale = (target.getV1() - target.getV0()) / (source.getV1() - source.getV0());
+            return new SpriteMapping(
+              source,
+              target,
+              uScale,
+              target.getU0() - source.getU0() * uScale,
+              vScale,
+              target.getV0() - source.getV0() * vScale
+            );
+        }
+
+        /**
+         * Whether the mapping leaves the texture coordinates untouched.
+         *
+         * @return True when the target is the source.
+         */
+        public boolean isIdentity()
+        {
+            return source == target;
+        }
+    }
+
+    /**
+     * Retextures the given quad with the given mapping, the quad itself is not modified.
+     *
+     * @param quad    The quad to retexture, it needs to use the source sprite of the mapping.
+     * @param mapping The mapping to apply.
+     * @return The retextured quad, or the given quad when the mapping does not change the sprite.
+     */
+    public static BakedQuad retexture(final BakedQuad quad, final SpriteMapping mapping)
+    {
+        if (mapping.isIdentity())
+            return quad;
+
+        final int[] vertices = quad.getVertices().clone();
+        remap(vertices, mapping);
+        return new BakedQuad(vertices, quad.getTintIndex(), quad.getDirection(), mapping.target(), quad.isShade(), quad.hasAmbientOcclusion());
+    }
+
+    private static void remap(final int[] vertices, final SpriteMapping mapping)
+    {
+        for (int offset = UV0; offset < vertices.length; offset += STRIDE)
+        {
+            vertices[offset] = Float.floatToRawIntBits(Float.intBitsToFloat(vertices[offset]) * mapping.uScale() + mapping.uOffset());
+            vertices[offset + 1] = Float.floatToRawIntBits(Float.intBitsToFloat(vertices[offset + 1]) * mapping.vScale() + mapping.vOffset());
+        }
+    }
+
     private final TextureAtlasSprite target;
 
     private ModelSpriteQuadTransformer(
@@ -22,30 +85,11 @@ public class ModelSpriteQuadTransformer implements IQuadTransformer
     @Override
     public void processInPlace(final BakedQuad quad)
     {
+        final SpriteMapping mapping = SpriteMapping.of(quad.getSprite(), target);
+        if (mapping.isIdentity())
+            return;
 
-        final float minU = quad.getSprite().getU0();
-        final float uDelta = quad.getSprite().getU1() - minU;
-
-        final float minV = quad.getSprite().getV0();
-        final float vDelta = quad.getSprite().getV1() - minV;
-        
         quad.sprite = target;
-
-        for (int vertexIndex = 0; vertexIndex < 4; vertexIndex++)
-        {
-            final float[] uv = new float[2];
-            int offset = vertexIndex * STRIDE + UV0;
-            uv[0] = Float.intBitsToFloat(quad.getVertices()[offset]);
-            uv[1] = Float.intBitsToFloat(quad.getVertices()[offset + 1]);
-
-            final float u = ( uv[0] - minU ) / uDelta;
-            final float v = ( uv[1] - minV ) / vDelta;
-
-            final float newU = this.target.getU(u * 16);
-            final float newV = this.target.getV(v * 16);
-
-            quad.getVertices()[offset] = Float.floatToRawIntBits(newU);
-            quad.getVertices()[offset + 1] = Float.floatToRawIntBits(newV);
-        }
+        remap(quad.getVertices(), mapping);
     }
 }
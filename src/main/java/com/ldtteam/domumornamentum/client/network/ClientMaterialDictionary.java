@@ -0,0 +1,67 @@
+package com.ldtteam.domumornamentum.client.network;
+
+import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The material combinations sent by the server in the current session, by their id.
+ * The server side counterpart is the {@link com.ldtteam.domumornamentum.network.MaterialDictionary}.
+ */
+public final class ClientMaterialDictionary
+{
+    private static final ClientMaterialDictionary INSTANCE = new ClientMaterialDictionary();
+
+    public static ClientMaterialDictionary getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * The combinations by their id, null for ids which were not received yet.
+     */
+    private final List<MaterialTextureData> entries = new ArrayList<>();
+
+    private ClientMaterialDictionary()
+    {
+    }
+
+    /**
+     * Registers a material combination sent by the server.
+     *
+     * @param id   The id of the combination.
+     * @param data The combination.
+     */
+    public void register(final int id, final MaterialTextureData data)
+    {
+        while (entries.size() <= id)
+        {
+            entries.add(null);
+        }
+
+        entries.set(id, data);
+    }
+
+    /**
+     * Gets the material combination with the given id.
+     *
+     * @param id The id of the combination.
+     * @return The combination, or null if the id was not received yet.
+     */
+    @Nullable
+    public MaterialTextureData get(final int id)
+    {
+        return id >= 0 && id < entries.size() ? entries.get(id) : null;
+    }
+
+    /**
+     * Forgets all combinations, needs to be called when the client disconnects.
+     */
+    public void clear()
+    {
+        entries.clear();
+    }
+}
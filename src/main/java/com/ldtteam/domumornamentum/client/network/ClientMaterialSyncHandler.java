@@ -0,0 +1,95 @@
+package com.ldtteam.domumornamentum.client.network;
+
+import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
+import com.ldtteam.domumornamentum.entity.block.MateriallyTexturedBlockEntity;
+import com.ldtteam.domumornamentum.network.ModNetwork;
+import com.ldtteam.domumornamentum.network.messages.SectionMaterialsRequestMessage;
+import com.ldtteam.domumornamentum.network.messages.SectionMaterialsSyncMessage;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.SectionPos;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public final class ClientMaterialSyncHandler
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * The sections which were requested from the server again, because they referenced unknown dictionary ids.
+     * Each section is only requested once until it was received completely, so a broken server can not cause a request loop.
+     */
+    private static final LongSet REQUESTED_SECTIONS = new LongOpenHashSet();
+
+    private ClientMaterialSyncHandler()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: ClientMaterialSyncHandler. This is a utility class");
+    }
+
+    /**
+     * Applies the synchronized material data to the block entities of the section.
+     * The section is only rebuilt once, and only when the material data of at least one block actually changed.
+     * Blocks with dictionary ids which are not known keep their current material data, and the section is requested from the server again.
+     *
+     * @param message The received message.
+     */
+    public static void handle(final SectionMaterialsSyncMessage message)
+    {
+        final ClientLevel level = Minecraft.getInstance().level;
+        if (level == null)
+            return;
+
+        for (int i = 0; i < message.getEntries().length; i++)
+        {
+            ClientMaterialDictionary.getInstance().register(message.getEntryIds()[i], message.getEntries()[i]);
+        }
+
+        final SectionPos sectionPos = message.getSectionPos();
+        boolean changed = false;
+        int unknownId = -1;
+        for (int i = 0; i < message.getPositions().length; i++)
+        {
+            final MaterialTextureData textureData = ClientMaterialDictionary.getInstance().get(message.getIds()[i]);
+            if (textureData == null)
+            {
+                unknownId = message.getIds()[i];
+                continue;
+            }
+
+            if (level.getBlockEntity(sectionPos.relativeToBlockPos(message.getPositions()[i])) instanceof final MateriallyTexturedBlockEntity blockEntity)
+            {
+                changed |= blockEntity.applySyncedTextureData(textureData);
+            }
+        }
+
+        if (changed)
+        {
+            Minecraft.getInstance().levelRenderer.setSectionDirty(sectionPos.x(), sectionPos.y(), sectionPos.z());
+        }
+
+        if (unknownId == -1)
+        {
+            REQUESTED_SECTIONS.remove(sectionPos.asLong());
+        }
+        else if (REQUESTED_SECTIONS.add(sectionPos.asLong()))
+        {
+            LOGGER.warn("Received unknown material dictionary id {} for chunk section {}, requesting the section again.", unknownId, sectionPos);
+            ModNetwork.CHANNEL.sendToServer(new SectionMaterialsRequestMessage(sectionPos));
+        }
+        else
+        {
+            LOGGER.error("Received unknown material dictionary id {} for chunk section {} again after requesting it, its blocks keep their current materials.", unknownId, sectionPos);
+            REQUESTED_SECTIONS.remove(sectionPos.asLong());
+        }
+    }
+
+    /**
+     * Forgets the requested sections, needs to be called when the client disconnects.
+     */
+    public static void clear()
+    {
+        REQUESTED_SECTIONS.clear();
+    }
+}
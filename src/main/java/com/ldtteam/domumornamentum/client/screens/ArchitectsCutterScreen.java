@@ -2,7 +2,6 @@ package com.ldtteam.domumornamentum.client.screens;
 
 import com.ldtteam.domumornamentum.block.MateriallyTexturedBlockManager;
 import com.ldtteam.domumornamentum.container.ArchitectsCutterContainer;
-import com.ldtteam.domumornamentum.recipe.architectscutter.ArchitectsCutterRecipe;
 import com.ldtteam.domumornamentum.util.Constants;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
@@ -13,6 +12,7 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.item.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -68,14 +68,14 @@ public class ArchitectsCutterScreen extends AbstractContainerScreen<ArchitectsCu
             int i = this.leftPos + 52;
             int j = this.topPos + 14;
             int k = this.recipeIndexOffset + 12;
-            List<ArchitectsCutterRecipe> list = this.menu.getRecipeList();
+            List<ItemStack> list = this.menu.getRecipePreviews();
 
             for(int l = this.recipeIndexOffset; l < k && l < this.menu.getRecipeListSize(); ++l) {
                 int i1 = l - this.recipeIndexOffset;
                 int j1 = i + i1 % 4 * 16;
                 int k1 = j + i1 / 4 * 18 + 2;
                 if (x >= j1 && x < j1 + 16 && y >= k1 && y < k1 + 18) {
-                    graphics.renderTooltip(this.font, list.get(l).assemble(this.menu.inputInventory, this.minecraft.level.registryAccess()), x, y);
+                    graphics.renderTooltip(this.font, list.get(l), x, y);
 
                 }
             }
@@ -118,7 +118,7 @@ public class ArchitectsCutterScreen extends AbstractContainerScreen<ArchitectsCu
     }
 
     private void drawRecipesItems(final @NotNull GuiGraphics graphics, int left, int top, int recipeIndexOffsetMax) {
-        List<ArchitectsCutterRecipe> list = this.menu.getRecipeList();
+        List<ItemStack> list = this.menu.getRecipePreviews();
 
         for(int i = this.recipeIndexOffset; i < recipeIndexOffsetMax && i < this.menu.getRecipeListSize(); ++i) {
             int j = i - this.recipeIndexOffset;
@@ -126,7 +126,7 @@ public class ArchitectsCutterScreen extends AbstractContainerScreen<ArchitectsCu
             int l = j / 4;
             int i1 = top + l * 18 + 2;
 
-            graphics.renderItem(list.get(i).assemble(this.menu.inputInventory, this.minecraft.level.registryAccess()), k, i1);
+            graphics.renderItem(list.get(i), k, i1);
         }
     }
 
@@ -0,0 +1,140 @@
+package com.ldtteam.domumornamentum.config;
+
+import net.minecraftforge.common.ForgeConfigSpec;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * Client side configuration of DO.
+ * All getters fall back to the default values when the config has not been loaded yet.
+ */
+public class ClientConfig
+{
+    public static final ForgeConfigSpec SPEC;
+    private static final ClientConfig INSTANCE;
+
+    static
+    {
+        final Pair<ClientConfig, ForgeConfigSpec> specPair = new ForgeConfigSpec.Builder().configure(ClientConfig::new);
+        SPEC = specPair.getRight();
+        INSTANCE = specPair.getLeft();
+    }
+
+    public static ClientConfig getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final ForgeConfigSpec.IntValue     bakedModelCacheMemoryBudget;
+    private final ForgeConfigSpec.BooleanValue asyncBaking;
+    private final ForgeConfigSpec.IntValue     synchronousItemBakesPerFrame;
+    private final ForgeConfigSpec.BooleanValue prewarming;
+    private final ForgeConfigSpec.BooleanValue diskCache;
+    private final ForgeConfigSpec.IntValue     diskCacheMaxSize;
+    private final ForgeConfigSpec.BooleanValue verifyRetexturing;
+
+    private ClientConfig(final ForgeConfigSpec.Builder builder)
+    {
+        builder.comment("Settings of the cache which holds the retextured models of materially textured blocks.").push("modelCache");
+        this.bakedModelCacheMemoryBudget = builder
+          .comment("The amount of memory, in megabytes, the retextured models of all materially textured blocks and items may occupy.")
+          .defineInRange("memoryBudget", 256, 16, 4096);
+        this.asyncBaking = builder
+          .comment("Whether new material combinations are retextured in the background. Blocks render untextured until their retextured model is ready.")
+          .define("asyncBaking", true);
+        this.synchronousItemBakesPerFrame = builder
+          .comment("The amount of new item material combinations which may be retextured on the render thread per frame when asynchronous baking is enabled.")
+          .defineInRange("synchronousItemBakesPerFrame", 2, 0, 64);
+        this.prewarming = builder
+          .comment("Whether the models of materially textured blocks are retextured in the background as soon as their chunks are received, closest first.")
+          .define("prewarming", true);
+        this.diskCache = builder
+          .comment("Whether retextured block models are stored on disk, so that they do not need to be retextured again in later sessions.")
+          .define("diskCache", false);
+        this.diskCacheMaxSize = builder
+          .comment("The maximum size, in megabytes, of the retextured model cache on disk. Once it is full, new models are not stored on disk anymore, "
+                   + "until the cache is cleared because the resource packs or mods changed, or its file is deleted.")
+          .defineInRange("diskCacheMaxSize", 512, 16, 2047);
+        builder.pop();
+
+        builder.comment("Settings which help to diagnose rendering issues.").push("debug");
+        this.verifyRetexturing = builder
+          .comment("Whether the quad counts of every face of a retextured model are compared with its source model. Mismatches are logged.")
+          .define("verifyRetexturing", false);
+        builder.pop();
+    }
+
+    /**
+     * The memory budget of the baked model cache in megabytes.
+     *
+     * @return The memory budget in megabytes.
+     */
+    public int getBakedModelCacheMemoryBudget()
+    {
+        return get(bakedModelCacheMemoryBudget);
+    }
+
+    /**
+     * Whether new material combinations are retextured in the background.
+     *
+     * @return True when asynchronous baking is enabled.
+     */
+    public boolean isAsyncBakingEnabled()
+    {
+        return get(asyncBaking);
+    }
+
+    /**
+     * The amount of item models which may be retextured on the render thread per frame.
+     *
+     * @return The amount of synchronous item bakes per frame.
+     */
+    public int getSynchronousItemBakesPerFrame()
+    {
+        return get(synchronousItemBakesPerFrame);
+    }
+
+    /**
+     * Whether the models of received materially textured blocks are retextured in the background.
+     *
+     * @return True when prewarming is enabled.
+     */
+    public boolean isPrewarmingEnabled()
+    {
+        return get(prewarming);
+    }
+
+    /**
+     * Whether retextured block models are stored on disk.
+     *
+     * @return True when the disk cache is enabled.
+     */
+    public boolean isDiskCacheEnabled()
+    {
+        return get(diskCache);
+    }
+
+    /**
+     * The maximum size of the retextured model cache on disk in megabytes.
+     *
+     * @return The maximum size in megabytes.
+     */
+    public int getDiskCacheMaxSize()
+    {
+        return get(diskCacheMaxSize);
+    }
+
+    /**
+     * Whether the quad counts of retextured models are compared with their source models.
+     *
+     * @return True when the retexturing verification is enabled.
+     */
+    public boolean isRetexturingVerificationEnabled()
+    {
+        return get(verifyRetexturing);
+    }
+
+    private static <T> T get(final ForgeConfigSpec.ConfigValue<T> value)
+    {
+        return SPEC.isLoaded() ? value.get() : value.getDefault();
+    }
+}
@@ -0,0 +1,54 @@
+package com.ldtteam.domumornamentum.config;
+
+import net.minecraftforge.common.ForgeConfigSpec;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * Common configuration of DO, which applies to the logical server.
+ * All getters fall back to the default values when the config has not been loaded yet.
+ */
+public class CommonConfig
+{
+    public static final ForgeConfigSpec SPEC;
+    private static final CommonConfig INSTANCE;
+
+    static
+    {
+        final Pair<CommonConfig, ForgeConfigSpec> specPair = new ForgeConfigSpec.Builder().configure(CommonConfig::new);
+        SPEC = specPair.getRight();
+        INSTANCE = specPair.getLeft();
+    }
+
+    public static CommonConfig getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final ForgeConfigSpec.BooleanValue chunkMaterialPalette;
+
+    private CommonConfig(final ForgeConfigSpec.Builder builder)
+    {
+        builder.comment("Settings of the storage of the materials of materially textured blocks.").push("storage");
+        this.chunkMaterialPalette = builder
+          .comment("Whether the materials of materially textured blocks are written to saved chunks as a palette per chunk, instead of once per block entity. "
+                   + "This only reduces the size of the saved chunks: loaded blocks keep their block entity and its materials, so memory use does not change. "
+                   + "Chunks saved with a palette are always read back, even after turning this off.")
+          .define("chunkMaterialPalette", false);
+        builder.pop();
+    }
+
+    /**
+     * Whether the materials are written to saved chunks as a palette per chunk.
+     *
+     * @return True when the chunk material palette is enabled.
+     */
+    public boolean isChunkMaterialPaletteEnabled()
+    {
+        return get(chunkMaterialPalette);
+    }
+
+    private static <T> T get(final ForgeConfigSpec.ConfigValue<T> value)
+    {
+        return SPEC.isLoaded() ? value.get() : value.getDefault();
+    }
+}
@@ -2,7 +2,6 @@ package com.ldtteam.domumornamentum.container;
 
 import com.google.common.collect.Lists;
 import com.ldtteam.domumornamentum.block.*;
-import com.ldtteam.domumornamentum.recipe.ModRecipeTypes;
 import com.ldtteam.domumornamentum.recipe.architectscutter.ArchitectsCutterRecipe;
 import net.minecraft.core.NonNullList;
 import net.minecraft.sounds.SoundEvents;
@@ -19,6 +18,7 @@ import net.minecraft.world.level.Level;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -29,6 +29,8 @@ public class ArchitectsCutterContainer extends AbstractContainerMenu
     private final DataSlot       selectedRecipe          = DataSlot.standalone();
     private final Level                        world;
     private       List<ArchitectsCutterRecipe> recipes = Lists.newArrayList();
+    @Nullable
+    private       List<ItemStack>              recipePreviews = null;
 
     private final NonNullList<ItemStack> inputItemStacks = NonNullList.withSize(MateriallyTexturedBlockManager.getInstance().getMaxTexturableComponentCount(), ItemStack.EMPTY);
     private       long                   lastOnTake;
@@ -139,6 +141,21 @@ public class ArchitectsCutterContainer extends AbstractContainerMenu
         return this.recipes;
     }
 
+    /**
+     * Returns the outputs of the available recipes for the current inputs, in the same order as {@link #getRecipeList()}.
+     * They are assembled once per input change, instead of every frame they are displayed.
+     */
+    @OnlyIn(Dist.CLIENT)
+    public List<ItemStack> getRecipePreviews() {
+        if (this.recipePreviews == null) {
+            this.recipePreviews = this.recipes.stream()
+                                    .map(recipe -> recipe.assemble(this.inputInventory, this.world.registryAccess()))
+                                    .collect(Collectors.toList());
+        }
+
+        return this.recipePreviews;
+    }
+
     @OnlyIn(Dist.CLIENT)
     public int getRecipeListSize() {
         return this.recipes.size();
@@ -202,11 +219,11 @@ public class ArchitectsCutterContainer extends AbstractContainerMenu
 
     private void updateAvailableRecipes(Container inventoryIn, List<ItemStack> stacks) {
         this.recipes.clear();
+        this.recipePreviews = null;
         this.selectedRecipe.set(-1);
         this.outputInventorySlot.set(ItemStack.EMPTY);
         if (!stacks.stream().allMatch(ItemStack::isEmpty)) {
-            this.recipes = this.world.getRecipeManager().getRecipesFor(ModRecipeTypes.ARCHITECTS_CUTTER.get(), inventoryIn, this.world);
-            this.recipes.sort(Comparator.comparing(ArchitectsCutterRecipe::getBlockName).thenComparing(ArchitectsCutterRecipe::getId));
+            this.recipes = ArchitectsCutterRecipeIndex.get(this.world.getRecipeManager()).getRecipesFor(stacks);
         }
 
     }
@@ -0,0 +1,196 @@
+package com.ldtteam.domumornamentum.container;
+
+import com.google.common.collect.Lists;
+import com.ldtteam.domumornamentum.block.IMateriallyTexturedBlock;
+import com.ldtteam.domumornamentum.block.IMateriallyTexturedBlockComponent;
+import com.ldtteam.domumornamentum.recipe.ModRecipeTypes;
+import com.ldtteam.domumornamentum.recipe.architectscutter.ArchitectsCutterRecipe;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.item.BlockItem;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Index of the architects cutter recipes of a recipe manager, which answers which recipes match the current input slots.
+ * The target block and components of every recipe are resolved once, and the recipes are grouped per slot and material tag,
+ * so matching the inputs only intersects a bitset per filled slot, instead of checking every recipe.
+ * The results are in the order the cutter displays them.
+ */
+public final class ArchitectsCutterRecipeIndex
+{
+    private static final Map<RecipeManager, ArchitectsCutterRecipeIndex> INDICES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Gets the index of the cutter recipes of the given recipe manager, builds it when needed.
+     *
+     * @param recipeManager The recipe manager.
+     * @return The index of its cutter recipes.
+     */
+    public static ArchitectsCutterRecipeIndex get(final RecipeManager recipeManager)
+    {
+        return INDICES.computeIfAbsent(recipeManager, ArchitectsCutterRecipeIndex::new);
+    }
+
+    /**
+     * Drops all indices, needs to be called when the recipes or tags are reloaded.
+     */
+    public static void invalidate()
+    {
+        INDICES.clear();
+    }
+
+    /**
+     * The indexable recipes, sorted by target block and id.
+     */
+    private final ArchitectsCutterRecipe[] recipes;
+
+    /**
+     * Per slot, the recipes which need a material in that slot.
+     */
+    private final BitSet[] recipesNeedingSlot;
+
+    /**
+     * Per slot, the recipes grouped by the material tag of their component in that slot.
+     */
+    private final List<Map<TagKey<Block>, BitSet>> recipesBySlotAndTag;
+
+    private ArchitectsCutterRecipeIndex(final RecipeManager recipeManager)
+    {
+        this(recipeManager.getAllRecipesFor(ModRecipeTypes.ARCHITECTS_CUTTER.get()), ArchitectsCutterRecipeIndex::getComponentTags);
+    }
+
+    /**
+     * Builds the index of the given recipes.
+     *
+     * @param allRecipes    The cutter recipes.
+     * @param componentTags Resolves the material tags of the components of the target block of a recipe, null if the block is missing or not materially textured.
+     */
+    ArchitectsCutterRecipeIndex(final Collection<ArchitectsCutterRecipe> allRecipes, final Function<ResourceLocation, List<TagKey<Block>>> componentTags)
+    {
+        final List<ArchitectsCutterRecipe> sortedRecipes = Lists.newArrayList(allRecipes);
+        sortedRecipes.sort(Comparator.comparing(ArchitectsCutterRecipe::getBlockName).thenComparing(ArchitectsCutterRecipe::getId));
+
+        final List<ArchitectsCutterRecipe> indexedRecipes = Lists.newArrayList();
+        final List<BitSet> needingSlot = Lists.newArrayList();
+        this.recipesBySlotAndTag = Lists.newArrayList();
+        for (final ArchitectsCutterRecipe recipe : sortedRecipes)
+        {
+            //Recipes of missing or not materially textured blocks never match.
+            final List<TagKey<Block>> tags = componentTags.apply(recipe.getBlockName());
+            if (tags == null)
+                continue;
+
+            final int recipeIndex = indexedRecipes.size();
+            indexedRecipes.add(recipe);
+
+            for (int slot = 0; slot < tags.size(); slot++)
+            {
+                if (needingSlot.size() <= slot)
+                {
+                    needingSlot.add(new BitSet());
+                    this.recipesBySlotAndTag.add(new HashMap<>());
+                }
+
+                needingSlot.get(slot).set(recipeIndex);
+                this.recipesBySlotAndTag.get(slot).computeIfAbsent(tags.get(slot), tag -> new BitSet()).set(recipeIndex);
+            }
+        }
+
+        this.recipes = indexedRecipes.toArray(new ArchitectsCutterRecipe[0]);
+        this.recipesNeedingSlot = needingSlot.toArray(new BitSet[0]);
+    }
+
+    /**
+     * Gets the material tags of the components of the given block, in slot order.
+     *
+     * @param blockName The name of the block.
+     * @return The material tags, null if the block is missing or not materially textured.
+     */
+    @Nullable
+    private static List<TagKey<Block>> getComponentTags(final ResourceLocation blockName)
+    {
+        final Block generatedBlock = ForgeRegistries.BLOCKS.getValue(blockName);
+        if (!ForgeRegistries.BLOCKS.containsKey(blockName) || !(generatedBlock instanceof final IMateriallyTexturedBlock materiallyTexturedBlock))
+            return null;
+
+        final List<TagKey<Block>> tags = Lists.newArrayList();
+        for (final IMateriallyTexturedBlockComponent component : materiallyTexturedBlock.getComponents())
+        {
+            tags.add(component.getValidSkins());
+        }
+
+        return tags;
+    }
+
+    /**
+     * Gets the recipes which match the given input stacks, this is equivalent to checking {@link ArchitectsCutterRecipe#matches} for every recipe.
+     *
+     * @param stacks The stacks in the input slots.
+     * @return The matching recipes, in display order.
+     */
+    public List<ArchitectsCutterRecipe> getRecipesFor(final List<ItemStack> stacks)
+    {
+        final List<Predicate<TagKey<Block>>> materials = new ArrayList<>(stacks.size());
+        for (final ItemStack stack : stacks)
+        {
+            if (stack.getItem() instanceof final BlockItem blockItem)
+            {
+                final BlockState material = blockItem.getBlock().defaultBlockState();
+                materials.add(material::is);
+            }
+            else
+            {
+                materials.add(null);
+            }
+        }
+
+        return getRecipesForMaterials(materials);
+    }
+
+    /**
+     * Gets the recipes which match the given materials.
+     *
+     * @param materials Per input slot, checks whether the material in the slot is in a tag, null if the slot holds no block.
+     * @return The matching recipes, in display order.
+     */
+    List<ArchitectsCutterRecipe> getRecipesForMaterials(final List<Predicate<TagKey<Block>>> materials)
+    {
+        final BitSet matching = new BitSet(recipes.length);
+        matching.set(0, recipes.length);
+
+        for (int slot = 0; slot < recipesNeedingSlot.length && !matching.isEmpty(); slot++)
+        {
+            final BitSet rejected = (BitSet) recipesNeedingSlot[slot].clone();
+            final Predicate<TagKey<Block>> material = slot < materials.size() ? materials.get(slot) : null;
+            if (material != null)
+            {
+                for (final Map.Entry<TagKey<Block>, BitSet> entry : recipesBySlotAndTag.get(slot).entrySet())
+                {
+                    if (material.test(entry.getKey()))
+                    {
+                        rejected.andNot(entry.getValue());
+                    }
+                }
+            }
+
+            matching.andNot(rejected);
+        }
+
+        final List<ArchitectsCutterRecipe> result = new ArrayList<>(matching.cardinality());
+        for (int recipeIndex = matching.nextSetBit(0); recipeIndex >= 0; recipeIndex = matching.nextSetBit(recipeIndex + 1))
+        {
+            result.add(recipes[recipeIndex]);
+        }
+
+        return result;
+    }
+}
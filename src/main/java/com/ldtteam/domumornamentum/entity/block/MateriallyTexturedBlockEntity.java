@@ -1,17 +1,25 @@
 package com.ldtteam.domumornamentum.entity.block;
 
+import com.ldtteam.domumornamentum.block.IMateriallyTexturedBlock;
+import com.ldtteam.domumornamentum.client.model.baked.ModelPrewarmer;
 import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
+import com.ldtteam.domumornamentum.client.model.data.ResolvedModelHandle;
 import com.ldtteam.domumornamentum.client.model.properties.ModProperties;
+import com.ldtteam.domumornamentum.network.MaterialSyncQueue;
 import com.ldtteam.domumornamentum.util.MaterialTextureDataUtil;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.network.Connection;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.client.model.data.ModelData;
+import net.minecraftforge.fml.DistExecutor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
 
@@ -21,6 +29,22 @@ public class MateriallyTexturedBlockEntity extends BlockEntity implements IMater
 {
 
     private MaterialTextureData textureData = MaterialTextureData.EMPTY;
+    private ResolvedModelHandle resolvedModelHandle = new ResolvedModelHandle();
+
+    /**
+     * The loaded material data tag which has not been decoded yet.
+     * Most blocks loaded on the server are never inspected, so the registry lookups of decoding are deferred until the data is needed.
+     */
+    @Nullable
+    private CompoundTag undecodedTextureData = null;
+
+    /**
+     * The material data the main material snapshot was resolved from, material data is interned so a change is detected by identity.
+     */
+    @Nullable
+    private MaterialTextureData mainMaterialSource = null;
+    @Nullable
+    private ResolvedMaterial    mainMaterial       = null;
 
     public MateriallyTexturedBlockEntity(BlockPos pos, BlockState state)
     {
@@ -34,31 +58,79 @@ public class MateriallyTexturedBlockEntity extends BlockEntity implements IMater
         if (this.textureData.isEmpty()) {
             this.textureData = MaterialTextureDataUtil.generateRandomTextureDataFrom(this.getBlockState().getBlock());
         }
+        this.undecodedTextureData = null;
 
+        this.resolvedModelHandle = new ResolvedModelHandle();
         this.requestModelDataUpdate();
     }
 
     @Override
     public @NotNull CompoundTag getUpdateTag()
     {
-        return this.saveWithId();
+        final CompoundTag tag = this.saveWithId();
+        if (this.level instanceof ServerLevel)
+        {
+            //Players receive the material data through their material dictionary when they start watching the chunk.
+            tag.remove("textureData");
+        }
+        return tag;
     }
 
     @Override
     public void onDataPacket(final Connection net, final ClientboundBlockEntityDataPacket packet)
     {
         this.load(Objects.requireNonNull(packet.getTag()));
+        this.prewarmModel();
     }
 
     @Override
     public void handleUpdateTag(final CompoundTag tag)
     {
+        if (!tag.contains("textureData", Tag.TAG_COMPOUND))
+        {
+            //The material data follows in a separate message, keep the current data until then.
+            super.load(tag);
+            return;
+        }
+
         this.load(tag);
+        this.prewarmModel();
+    }
+
+    /**
+     * Applies material data which was synchronized from the server.
+     *
+     * @param materialTextureData The synchronized material data.
+     * @return True when the material data changed, false when it was already applied.
+     */
+    public boolean applySyncedTextureData(final MaterialTextureData materialTextureData)
+    {
+        if (materialTextureData == this.textureData)
+            return false;
+
+        this.textureData = materialTextureData;
+        this.resolvedModelHandle = new ResolvedModelHandle();
+        this.requestModelDataUpdate();
+        this.prewarmModel();
+        return true;
+    }
+
+    private void prewarmModel()
+    {
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ModelPrewarmer.getInstance().enqueue(this.getBlockPos(), this.getBlockState(), this.getTextureData()));
     }
 
     @Override
+    @Nullable
     public ClientboundBlockEntityDataPacket getUpdatePacket()
     {
+        if (this.level instanceof final ServerLevel serverLevel)
+        {
+            //Changes are sent at the end of the tick, together with all other changes of the chunk section.
+            MaterialSyncQueue.getInstance().enqueue(serverLevel, this.getBlockPos());
+            return null;
+        }
+
         return ClientboundBlockEntityDataPacket.create(this);
     }
 
@@ -66,7 +138,15 @@ public class MateriallyTexturedBlockEntity extends BlockEntity implements IMater
     public void saveAdditional(@NotNull final CompoundTag compound)
     {
         super.saveAdditional(compound);
-        compound.put("textureData", textureData.serializeNBT());
+
+        if (this.undecodedTextureData != null)
+        {
+            //Never decoded, so the loaded tag is still accurate.
+            compound.put("textureData", this.undecodedTextureData.copy());
+            return;
+        }
+
+        compound.put("textureData", this.getTextureData().serializeNBT());
     }
 
     @Override
@@ -74,13 +154,28 @@ public class MateriallyTexturedBlockEntity extends BlockEntity implements IMater
     {
         super.load(nbt);
 
-        this.textureData = new MaterialTextureData();
+        final MaterialTextureData previousTextureData = this.textureData;
+        this.textureData = MaterialTextureData.EMPTY;
+        this.undecodedTextureData = null;
         if (nbt.contains("textureData", Tag.TAG_COMPOUND))
         {
-            this.textureData.deserializeNBT(nbt.getCompound("textureData"));
+            if (this.level != null && this.level.isClientSide())
+            {
+                //The client needs the materials right away to render the block.
+                this.textureData = MaterialTextureData.deserializeFromNBT(nbt.getCompound("textureData"));
+            }
+            else
+            {
+                this.undecodedTextureData = nbt.getCompound("textureData");
+            }
         }
 
-        this.requestModelDataUpdate();
+        //Material data is interned, so an unchanged material combination is the same instance and keeps its resolved models.
+        if (this.textureData != previousTextureData)
+        {
+            this.resolvedModelHandle = new ResolvedModelHandle();
+            this.requestModelDataUpdate();
+        }
     }
 
     @NotNull
@@ -88,7 +183,8 @@ public class MateriallyTexturedBlockEntity extends BlockEntity implements IMater
     public ModelData getModelData()
     {
         return ModelData.builder()
-          .with(ModProperties.MATERIAL_TEXTURE_PROPERTY, this.textureData)
+          .with(ModProperties.MATERIAL_TEXTURE_PROPERTY, this.getTextureData())
+          .with(ModProperties.RESOLVED_MODEL_PROPERTY, this.resolvedModelHandle)
           .build();
     }
 
@@ -96,6 +192,32 @@ public class MateriallyTexturedBlockEntity extends BlockEntity implements IMater
     @NotNull
     public MaterialTextureData getTextureData()
     {
+        if (this.undecodedTextureData != null)
+        {
+            this.textureData = MaterialTextureData.deserializeFromNBT(this.undecodedTextureData);
+            this.undecodedTextureData = null;
+        }
+
         return textureData;
     }
+
+    /**
+     * Gives access to the resolved properties of the main material of the block.
+     *
+     * @return The resolved main material, null if the block has none.
+     */
+    @Nullable
+    public ResolvedMaterial getMainMaterial()
+    {
+        final MaterialTextureData data = this.getTextureData();
+        if (data != this.mainMaterialSource)
+        {
+            this.mainMaterialSource = data;
+            this.mainMaterial = this.getBlockState().getBlock() instanceof final IMateriallyTexturedBlock materiallyTexturedBlock
+                                  ? ResolvedMaterial.of(data.getTexturedComponents().get(materiallyTexturedBlock.getMainComponent().getId()))
+                                  : null;
+        }
+
+        return this.mainMaterial;
+    }
 }
@@ -0,0 +1,31 @@
+package com.ldtteam.domumornamentum.entity.block;
+
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Snapshot of the main material of a materially textured block.
+ * Explosions, mining and footsteps query it very often, so it is resolved once per material combination.
+ * Properties which depend on the level, like the explosion resistance and the sound type, are still queried from the block with the full context.
+ *
+ * @param block The main material.
+ * @param state The default state of the main material, which determines the destroy speed and the required tool.
+ */
+public record ResolvedMaterial(Block block, BlockState state)
+{
+    /**
+     * Resolves the given material.
+     *
+     * @param block The material.
+     * @return The resolved material, null if there is no material.
+     */
+    @Nullable
+    public static ResolvedMaterial of(@Nullable final Block block)
+    {
+        if (block == null)
+            return null;
+
+        return new ResolvedMaterial(block, block.defaultBlockState());
+    }
+}
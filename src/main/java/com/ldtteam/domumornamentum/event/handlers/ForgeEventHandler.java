@@ -0,0 +1,80 @@
+package com.ldtteam.domumornamentum.event.handlers;
+
+import com.ldtteam.domumornamentum.block.MateriallyTexturedBlockManager;
+import com.ldtteam.domumornamentum.container.ArchitectsCutterRecipeIndex;
+import com.ldtteam.domumornamentum.config.CommonConfig;
+import com.ldtteam.domumornamentum.network.MaterialDictionary;
+import com.ldtteam.domumornamentum.network.MaterialSyncQueue;
+import com.ldtteam.domumornamentum.util.ChunkMaterialPalette;
+import com.ldtteam.domumornamentum.util.Constants;
+import com.ldtteam.domumornamentum.util.MaterialTextureDataUtil;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.level.ChunkDataEvent;
+import net.minecraftforge.event.level.ChunkWatchEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.server.ServerLifecycleHooks;
+
+@Mod.EventBusSubscriber(modid = Constants.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class ForgeEventHandler
+{
+
+    @SubscribeEvent
+    public static void onTagsUpdated(final TagsUpdatedEvent event)
+    {
+        MaterialTextureDataUtil.onTagsUpdated();
+        ArchitectsCutterRecipeIndex.invalidate();
+        MateriallyTexturedBlockManager.getInstance().onTagsUpdated();
+    }
+
+    @SubscribeEvent
+    public static void onChunkSave(final ChunkDataEvent.Save event)
+    {
+        if (CommonConfig.getInstance().isChunkMaterialPaletteEnabled())
+        {
+            ChunkMaterialPalette.compact(event.getData());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(final ChunkDataEvent.Load event)
+    {
+        //Independent of the config, so that chunks stay readable when the option is turned off again.
+        if (ChunkMaterialPalette.hasPalette(event.getData()))
+        {
+            ChunkMaterialPalette.expand(event.getData());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkWatch(final ChunkWatchEvent.Watch event)
+    {
+        final LevelChunk chunk = event.getLevel().getChunkSource().getChunkNow(event.getPos().x, event.getPos().z);
+        if (chunk != null)
+        {
+            MaterialSyncQueue.getInstance().sendChunk(event.getPlayer(), chunk);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(final PlayerEvent.PlayerLoggedOutEvent event)
+    {
+        if (event.getEntity() instanceof final ServerPlayer player)
+        {
+            MaterialDictionary.getInstance().remove(player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(final TickEvent.ServerTickEvent event)
+    {
+        if (event.phase == TickEvent.Phase.END)
+        {
+            MaterialSyncQueue.getInstance().flush(ServerLifecycleHooks.getCurrentServer());
+        }
+    }
+}
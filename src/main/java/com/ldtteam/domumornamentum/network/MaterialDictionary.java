@@ -0,0 +1,102 @@
+package com.ldtteam.domumornamentum.network;
+
+import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns compact ids to the material combinations sent to each connected player.
+ * A combination is sent in full the first time it is synchronized to a player, afterwards only its id is sent.
+ * The client side counterpart is the {@link com.ldtteam.domumornamentum.client.network.ClientMaterialDictionary}.
+ * Only the material data of block entities is synchronized through the dictionary. Item stacks, including the results of the architects cutter,
+ * keep being synchronized with their full tag by the vanilla container synchronization.
+ */
+public final class MaterialDictionary
+{
+    private static final MaterialDictionary INSTANCE = new MaterialDictionary();
+
+    public static MaterialDictionary getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * The ids of the material combinations known to a single player.
+     */
+    private static final class Session
+    {
+        private final Object2IntMap<MaterialTextureData> ids = new Object2IntOpenHashMap<>();
+
+        private Session()
+        {
+            ids.defaultReturnValue(-1);
+        }
+    }
+
+    private final Map<UUID, Session> sessions = new ConcurrentHashMap<>();
+
+    private MaterialDictionary()
+    {
+    }
+
+    /**
+     * Gets the id of the given material combination for the given player, assigning a new id if the player does not know the combination yet.
+     *
+     * @param player     The player the id is sent to.
+     * @param data       The material combination.
+     * @param newEntries The list to which newly assigned combinations are added, in the order of their ids. They need to be sent along with the id.
+     * @return The id of the material combination.
+     */
+    public int getOrAssign(final ServerPlayer player, final MaterialTextureData data, final List<MaterialTextureData> newEntries)
+    {
+        return getOrAssign(player.getUUID(), data, newEntries);
+    }
+
+    /**
+     * Gets the id of the given material combination for the player with the given id, assigning a new id if the player does not know the combination yet.
+     *
+     * @param playerId   The id of the player the id is sent to.
+     * @param data       The material combination.
+     * @param newEntries The list to which newly assigned combinations are added, in the order of their ids. They need to be sent along with the id.
+     * @return The id of the material combination.
+     */
+    public int getOrAssign(final UUID playerId, final MaterialTextureData data, final List<MaterialTextureData> newEntries)
+    {
+        final Session session = sessions.computeIfAbsent(playerId, uuid -> new Session());
+        int id = session.ids.getInt(data);
+        if (id == -1)
+        {
+            id = session.ids.size();
+            session.ids.put(data, id);
+            newEntries.add(data);
+        }
+
+        return id;
+    }
+
+    /**
+     * Forgets all ids assigned for the given player, needs to be called when the player disconnects.
+     *
+     * @param player The player.
+     */
+    public void remove(final ServerPlayer player)
+    {
+        remove(player.getUUID());
+    }
+
+    /**
+     * Forgets all ids assigned for the player with the given id.
+     *
+     * @param playerId The id of the player.
+     */
+    public void remove(final UUID playerId)
+    {
+        sessions.remove(playerId);
+    }
+}
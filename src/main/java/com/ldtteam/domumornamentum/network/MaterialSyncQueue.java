@@ -0,0 +1,180 @@
+package com.ldtteam.domumornamentum.network;
+
+import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
+import com.ldtteam.domumornamentum.entity.block.MateriallyTexturedBlockEntity;
+import com.ldtteam.domumornamentum.network.messages.SectionMaterialsSyncMessage;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraftforge.network.PacketDistributor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the materially textured blocks which need to be synchronized during a server tick,
+ * and sends them at the end of the tick as a single message per chunk section and player.
+ * The material data is sent as ids of the {@link MaterialDictionary} of each player.
+ */
+public final class MaterialSyncQueue
+{
+    private static final MaterialSyncQueue INSTANCE = new MaterialSyncQueue();
+
+    public static MaterialSyncQueue getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final Map<ResourceKey<Level>, Map<Long, Set<BlockPos>>> pending = new HashMap<>();
+
+    private MaterialSyncQueue()
+    {
+    }
+
+    /**
+     * Queues the block at the given position to be synchronized at the end of the tick.
+     * Needs to be called on the server thread.
+     *
+     * @param level The level of the block.
+     * @param pos   The position of the block.
+     */
+    public void enqueue(final ServerLevel level, final BlockPos pos)
+    {
+        pending.computeIfAbsent(level.dimension(), key -> new HashMap<>())
+          .computeIfAbsent(SectionPos.asLong(pos), key -> new LinkedHashSet<>())
+          .add(pos.immutable());
+    }
+
+    /**
+     * Sends the queued blocks to the players which track their chunks, one message per chunk section.
+     * The material data is read when the message is sent, so multiple changes of a block within a tick are only sent once.
+     *
+     * @param server The server.
+     */
+    public void flush(final MinecraftServer server)
+    {
+        if (pending.isEmpty())
+            return;
+
+        pending.forEach((dimension, sections) -> {
+            final ServerLevel level = server.getLevel(dimension);
+            if (level == null)
+                return;
+
+            sections.forEach((section, positions) -> {
+                final SectionPos sectionPos = SectionPos.of(section);
+                final LevelChunk chunk = level.getChunkSource().getChunkNow(sectionPos.x(), sectionPos.z());
+                if (chunk == null)
+                    return;
+
+                final List<MateriallyTexturedBlockEntity> blockEntities = new ArrayList<>(positions.size());
+                for (final BlockPos pos : positions)
+                {
+                    if (chunk.getBlockEntity(pos) instanceof final MateriallyTexturedBlockEntity blockEntity)
+                    {
+                        blockEntities.add(blockEntity);
+                    }
+                }
+
+                if (blockEntities.isEmpty())
+                    return;
+
+                for (final ServerPlayer player : level.getChunkSource().chunkMap.getPlayers(chunk.getPos(), false))
+                {
+                    send(player, sectionPos, blockEntities, false);
+                }
+            });
+        });
+        pending.clear();
+    }
+
+    /**
+     * Sends the material data of all materially textured blocks of the given chunk to the player, one message per chunk section.
+     * Called when the player starts watching the chunk, the chunk data itself does not contain the material data.
+     *
+     * @param player The player.
+     * @param chunk  The chunk.
+     */
+    public void sendChunk(final ServerPlayer player, final LevelChunk chunk)
+    {
+        final Map<Long, List<MateriallyTexturedBlockEntity>> sections = new HashMap<>();
+        for (final BlockEntity blockEntity : chunk.getBlockEntities().values())
+        {
+            if (blockEntity instanceof final MateriallyTexturedBlockEntity materiallyTexturedBlockEntity)
+            {
+                sections.computeIfAbsent(SectionPos.asLong(blockEntity.getBlockPos()), key -> new ArrayList<>()).add(materiallyTexturedBlockEntity);
+            }
+        }
+
+        sections.forEach((section, blockEntities) -> send(player, SectionPos.of(section), blockEntities, false));
+    }
+
+    /**
+     * Sends the material data of all materially textured blocks of the given chunk section to the player again, with all combinations in full.
+     * Called when the client received ids it does not know, the section is only sent when the player watches its chunk.
+     *
+     * @param player     The player.
+     * @param sectionPos The chunk section.
+     */
+    public void resendSection(final ServerPlayer player, final SectionPos sectionPos)
+    {
+        final ServerLevel level = player.serverLevel();
+        final LevelChunk chunk = level.getChunkSource().getChunkNow(sectionPos.x(), sectionPos.z());
+        if (chunk == null || !level.getChunkSource().chunkMap.getPlayers(chunk.getPos(), false).contains(player))
+            return;
+
+        final List<MateriallyTexturedBlockEntity> blockEntities = new ArrayList<>();
+        for (final BlockEntity blockEntity : chunk.getBlockEntities().values())
+        {
+            if (blockEntity instanceof final MateriallyTexturedBlockEntity materiallyTexturedBlockEntity && SectionPos.of(blockEntity.getBlockPos()).equals(sectionPos))
+            {
+                blockEntities.add(materiallyTexturedBlockEntity);
+            }
+        }
+
+        if (!blockEntities.isEmpty())
+        {
+            send(player, sectionPos, blockEntities, true);
+        }
+    }
+
+    private static void send(final ServerPlayer player, final SectionPos sectionPos, final List<MateriallyTexturedBlockEntity> blockEntities, final boolean includeKnownEntries)
+    {
+        final List<MaterialTextureData> newEntries = new ArrayList<>();
+        final Map<Integer, MaterialTextureData> entries = new LinkedHashMap<>();
+        final short[] positions = new short[blockEntities.size()];
+        final int[] ids = new int[blockEntities.size()];
+        for (int i = 0; i < positions.length; i++)
+        {
+            final MateriallyTexturedBlockEntity blockEntity = blockEntities.get(i);
+            final int newEntryCount = newEntries.size();
+            positions[i] = SectionPos.sectionRelativePos(blockEntity.getBlockPos());
+            ids[i] = MaterialDictionary.getInstance().getOrAssign(player, blockEntity.getTextureData(), newEntries);
+            if (includeKnownEntries || newEntries.size() > newEntryCount)
+            {
+                entries.putIfAbsent(ids[i], blockEntity.getTextureData());
+            }
+        }
+
+        ModNetwork.CHANNEL.send(
+          PacketDistributor.PLAYER.with(() -> player),
+          new SectionMaterialsSyncMessage(
+            sectionPos,
+            entries.keySet().stream().mapToInt(Integer::intValue).toArray(),
+            entries.values().toArray(MaterialTextureData[]::new),
+            positions,
+            ids)
+        );
+    }
+}
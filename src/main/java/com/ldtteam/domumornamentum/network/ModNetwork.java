@@ -0,0 +1,41 @@
+package com.ldtteam.domumornamentum.network;
+
+import com.ldtteam.domumornamentum.network.messages.SectionMaterialsRequestMessage;
+import com.ldtteam.domumornamentum.network.messages.SectionMaterialsSyncMessage;
+import com.ldtteam.domumornamentum.util.Constants;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.NetworkRegistry;
+import net.minecraftforge.network.simple.SimpleChannel;
+
+public final class ModNetwork
+{
+    private static final String PROTOCOL_VERSION = "2";
+
+    public static final SimpleChannel CHANNEL = NetworkRegistry.newSimpleChannel(
+      new ResourceLocation(Constants.MOD_ID, "main"),
+      () -> PROTOCOL_VERSION,
+      PROTOCOL_VERSION::equals,
+      PROTOCOL_VERSION::equals
+    );
+
+    private ModNetwork()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: ModNetwork. This is a utility class");
+    }
+
+    public static void register()
+    {
+        int id = 0;
+        CHANNEL.messageBuilder(SectionMaterialsSyncMessage.class, id++, NetworkDirection.PLAY_TO_CLIENT)
+          .encoder(SectionMaterialsSyncMessage::encode)
+          .decoder(SectionMaterialsSyncMessage::new)
+          .consumerMainThread(SectionMaterialsSyncMessage::handle)
+          .add();
+        CHANNEL.messageBuilder(SectionMaterialsRequestMessage.class, id++, NetworkDirection.PLAY_TO_SERVER)
+          .encoder(SectionMaterialsRequestMessage::encode)
+          .decoder(SectionMaterialsRequestMessage::new)
+          .consumerMainThread(SectionMaterialsRequestMessage::handle)
+          .add();
+    }
+}
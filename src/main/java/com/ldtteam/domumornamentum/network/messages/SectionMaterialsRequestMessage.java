@@ -0,0 +1,52 @@
+package com.ldtteam.domumornamentum.network.messages;
+
+import com.ldtteam.domumornamentum.network.MaterialSyncQueue;
+import net.minecraft.core.SectionPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * Asks the server to send the material data of a chunk section again, with all material combinations in full.
+ * Sent by the client when a {@link SectionMaterialsSyncMessage} references dictionary ids it does not know.
+ */
+public class SectionMaterialsRequestMessage
+{
+    private final SectionPos sectionPos;
+
+    /**
+     * Creates a new message.
+     *
+     * @param sectionPos The chunk section whose material data is requested.
+     */
+    public SectionMaterialsRequestMessage(final SectionPos sectionPos)
+    {
+        this.sectionPos = sectionPos;
+    }
+
+    public SectionMaterialsRequestMessage(final FriendlyByteBuf buffer)
+    {
+        this.sectionPos = SectionPos.of(buffer.readLong());
+    }
+
+    public void encode(final FriendlyByteBuf buffer)
+    {
+        buffer.writeLong(this.sectionPos.asLong());
+    }
+
+    public void handle(final Supplier<NetworkEvent.Context> context)
+    {
+        final ServerPlayer player = context.get().getSender();
+        if (player != null)
+        {
+            MaterialSyncQueue.getInstance().resendSection(player, this.sectionPos);
+        }
+    }
+
+    public SectionPos getSectionPos()
+    {
+        return sectionPos;
+    }
+}
@@ -0,0 +1,115 @@
+package com.ldtteam.domumornamentum.network.messages;
+
+import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
+import com.ldtteam.domumornamentum.client.network.ClientMaterialSyncHandler;
+import net.minecraft.core.SectionPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * Synchronizes the material data of materially textured blocks of a chunk section to a single player.
+ * The material data is sent as ids of the player's material dictionary, combinations which are new to the player are sent in full once.
+ * When the client asks for a section again, all combinations of the section are sent in full.
+ */
+public class SectionMaterialsSyncMessage
+{
+    private final SectionPos            sectionPos;
+    private final int[]                 entryIds;
+    private final MaterialTextureData[] entries;
+    private final short[]               positions;
+    private final int[]                 ids;
+
+    /**
+     * Creates a new message.
+     *
+     * @param sectionPos The chunk section of the blocks.
+     * @param entryIds   The dictionary ids of the combinations which are sent in full.
+     * @param entries    The combinations which are sent in full, in the same order as their ids.
+     * @param positions  The positions of the blocks, relative to the section.
+     * @param ids        The dictionary ids of the material data of the blocks, in the same order as the positions.
+     */
+    public SectionMaterialsSyncMessage(final SectionPos sectionPos, final int[] entryIds, final MaterialTextureData[] entries, final short[] positions, final int[] ids)
+    {
+        this.sectionPos = sectionPos;
+        this.entryIds = entryIds;
+        this.entries = entries;
+        this.positions = positions;
+        this.ids = ids;
+    }
+
+    public SectionMaterialsSyncMessage(final FriendlyByteBuf buffer)
+    {
+        this.sectionPos = SectionPos.of(buffer.readLong());
+        final int entryCount = buffer.readVarInt();
+        this.entryIds = new int[entryCount];
+        this.entries = new MaterialTextureData[entryCount];
+        for (int i = 0; i < entryCount; i++)
+        {
+            this.entryIds[i] = buffer.readVarInt();
+            final CompoundTag tag = buffer.readNbt();
+            this.entries[i] = tag == null ? MaterialTextureData.EMPTY : MaterialTextureData.deserializeFromNBT(tag);
+        }
+
+        final int count = buffer.readVarInt();
+        this.positions = new short[count];
+        this.ids = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            this.positions[i] = buffer.readShort();
+            this.ids[i] = buffer.readVarInt();
+        }
+    }
+
+    public void encode(final FriendlyByteBuf buffer)
+    {
+        buffer.writeLong(this.sectionPos.asLong());
+        buffer.writeVarInt(this.entries.length);
+        for (int i = 0; i < this.entries.length; i++)
+        {
+            buffer.writeVarInt(this.entryIds[i]);
+            buffer.writeNbt(this.entries[i].serializeNBT());
+        }
+
+        buffer.writeVarInt(this.positions.length);
+        for (int i = 0; i < this.positions.length; i++)
+        {
+            buffer.writeShort(this.positions[i]);
+            buffer.writeVarInt(this.ids[i]);
+        }
+    }
+
+    public void handle(final Supplier<NetworkEvent.Context> context)
+    {
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ClientMaterialSyncHandler.handle(this));
+    }
+
+    public SectionPos getSectionPos()
+    {
+        return sectionPos;
+    }
+
+    public int[] getEntryIds()
+    {
+        return entryIds;
+    }
+
+    public MaterialTextureData[] getEntries()
+    {
+        return entries;
+    }
+
+    public short[] getPositions()
+    {
+        return positions;
+    }
+
+    public int[] getIds()
+    {
+        return ids;
+    }
+}
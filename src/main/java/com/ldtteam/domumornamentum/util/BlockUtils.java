@@ -3,6 +3,7 @@ package com.ldtteam.domumornamentum.util;
 import com.google.common.collect.Lists;
 import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
 import com.ldtteam.domumornamentum.entity.block.MateriallyTexturedBlockEntity;
+import com.ldtteam.domumornamentum.entity.block.ResolvedMaterial;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
@@ -16,6 +17,7 @@ import net.minecraft.world.level.storage.loot.LootParams;
 import net.minecraft.world.level.storage.loot.LootParams;
 import net.minecraft.world.level.storage.loot.parameters.LootContextParams;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.List;
@@ -29,6 +31,21 @@ public class BlockUtils
         throw new IllegalStateException("Can not instantiate an instance of: BlockUtils. This is a utility class");
     }
 
+    /**
+     * Gets the resolved main material of the materially textured block at the given position.
+     *
+     * @param blockGetter The level to look in.
+     * @param blockPos    The position of the block.
+     * @return The resolved main material, null if the block has no materials.
+     */
+    @Nullable
+    public static ResolvedMaterial getMainMaterial(final BlockGetter blockGetter, final BlockPos blockPos) {
+        if (!(blockGetter.getBlockEntity(blockPos) instanceof final MateriallyTexturedBlockEntity texturedBlockEntity))
+            return null;
+
+        return texturedBlockEntity.getMainMaterial();
+    }
+
     public static Component getHoverName(final Block block) {
         return new ItemStack(block).getHoverName();
     }
@@ -0,0 +1,122 @@
+package com.ldtteam.domumornamentum.util;
+
+import com.ldtteam.domumornamentum.entity.block.ModBlockEntityTypes;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+
+/**
+ * Stores the materials of the materially textured block entities of a saved chunk in a palette.
+ * Every distinct material combination of the chunk is written once, and the block entities only keep the index into the palette.
+ * This only reduces the size of saved chunks, the loaded block entities keep their own material data in memory.
+ * The block entities themselves always save and load their full material data,
+ * so their data stays complete when it is copied by structure templates, clone commands or other mods.
+ */
+public final class ChunkMaterialPalette
+{
+    private static final String TAG_BLOCK_ENTITIES = "block_entities";
+    private static final String TAG_PALETTE        = Constants.MOD_ID + ":material_palette";
+    private static final String TAG_TEXTURE_DATA   = "textureData";
+    private static final String TAG_PALETTE_INDEX  = Constants.MOD_ID + ":material_index";
+
+    private ChunkMaterialPalette()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: ChunkMaterialPalette. This is a utility class");
+    }
+
+    /**
+     * Moves the material data of all materially textured block entities of the given serialized chunk into a palette.
+     * The material tags are compared as they are, so no material data needs to be decoded.
+     *
+     * @param chunkTag The serialized chunk.
+     */
+    public static void compact(final CompoundTag chunkTag)
+    {
+        compact(chunkTag, ModBlockEntityTypes.MATERIALLY_TEXTURED.getId().toString());
+    }
+
+    /**
+     * Moves the material data of all block entities of the given type of the given serialized chunk into a palette.
+     *
+     * @param chunkTag      The serialized chunk.
+     * @param blockEntityId The id of the type of the block entities whose material data is moved.
+     */
+    public static void compact(final CompoundTag chunkTag, final String blockEntityId)
+    {
+        if (hasPalette(chunkTag))
+            return;
+
+        final ListTag blockEntities = chunkTag.getList(TAG_BLOCK_ENTITIES, Tag.TAG_COMPOUND);
+        final ListTag palette = new ListTag();
+        final Object2IntMap<CompoundTag> paletteIndices = new Object2IntOpenHashMap<>();
+        paletteIndices.defaultReturnValue(-1);
+
+        for (int i = 0; i < blockEntities.size(); i++)
+        {
+            final CompoundTag blockEntity = blockEntities.getCompound(i);
+            if (!blockEntityId.equals(blockEntity.getString("id")) || !blockEntity.contains(TAG_TEXTURE_DATA, Tag.TAG_COMPOUND))
+                continue;
+
+            final CompoundTag textureData = blockEntity.getCompound(TAG_TEXTURE_DATA);
+            int index = paletteIndices.getInt(textureData);
+            if (index < 0)
+            {
+                index = palette.size();
+                palette.add(textureData);
+                paletteIndices.put(textureData, index);
+            }
+
+            blockEntity.remove(TAG_TEXTURE_DATA);
+            blockEntity.putInt(TAG_PALETTE_INDEX, index);
+        }
+
+        if (!palette.isEmpty())
+        {
+            chunkTag.put(TAG_PALETTE, palette);
+        }
+    }
+
+    /**
+     * Whether the given serialized chunk has a material palette, which needs to be expanded before its block entities are loaded.
+     *
+     * @param chunkTag The serialized chunk.
+     * @return True when the chunk has a material palette.
+     */
+    public static boolean hasPalette(final CompoundTag chunkTag)
+    {
+        return chunkTag.contains(TAG_PALETTE, Tag.TAG_LIST);
+    }
+
+    /**
+     * Restores the material data of all block entities of the given serialized chunk from its palette.
+     * The block entity tags are updated in place, since the chunk keeps them to create its block entities once it is loaded.
+     *
+     * @param chunkTag The serialized chunk.
+     */
+    public static void expand(final CompoundTag chunkTag)
+    {
+        if (!hasPalette(chunkTag))
+            return;
+
+        final ListTag palette = chunkTag.getList(TAG_PALETTE, Tag.TAG_COMPOUND);
+        final ListTag blockEntities = chunkTag.getList(TAG_BLOCK_ENTITIES, Tag.TAG_COMPOUND);
+        for (int i = 0; i < blockEntities.size(); i++)
+        {
+            final CompoundTag blockEntity = blockEntities.getCompound(i);
+            if (!blockEntity.contains(TAG_PALETTE_INDEX, Tag.TAG_INT))
+                continue;
+
+            final int index = blockEntity.getInt(TAG_PALETTE_INDEX);
+            blockEntity.remove(TAG_PALETTE_INDEX);
+            if (index >= 0 && index < palette.size())
+            {
+                //Block entities never modify their loaded material tag, so the palette entry can be shared.
+                blockEntity.put(TAG_TEXTURE_DATA, palette.getCompound(index));
+            }
+        }
+
+        chunkTag.remove(TAG_PALETTE);
+    }
+}
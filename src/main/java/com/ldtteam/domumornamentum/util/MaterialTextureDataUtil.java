@@ -7,6 +7,8 @@ import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
 import net.minecraft.core.Holder;
 import net.minecraft.core.Registry;
 import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
 import net.minecraft.world.item.BlockItem;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
@@ -15,12 +17,20 @@ import net.minecraftforge.registries.ForgeRegistries;
 import net.minecraftforge.registries.ForgeRegistry;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.StreamSupport;
 
 public class MaterialTextureDataUtil
 {
+    /**
+     * The amount of different material combinations a block cycles through when it is previewed without material data.
+     */
+    private static final int PREVIEW_POOL_SIZE = 8;
+
+    private static final Map<TagKey<Block>, Block[]>       CANDIDATES = new ConcurrentHashMap<>();
+    private static final Map<Block, MaterialTextureData[]> PREVIEWS   = new ConcurrentHashMap<>();
 
     private MaterialTextureDataUtil()
     {
@@ -36,38 +46,72 @@ public class MaterialTextureDataUtil
         return generateRandomTextureDataFrom(block);
     }
 
+    /**
+     * Generates the preview material data of the given block, which cycles through a small pool of material combinations every second.
+     * The pool is bounded, so that displaying the block does not produce new material combinations, and with that new model bakes, forever.
+     *
+     * @param block The block to generate the material data for.
+     * @return The material data, empty if the block is not materially textured.
+     */
     @NotNull
     public static MaterialTextureData generateRandomTextureDataFrom(final Block block)
     {
         if (!(block instanceof IMateriallyTexturedBlock materiallyTexturedBlock))
             return MaterialTextureData.EMPTY;
 
+        final int slot = (int) (ClientTickEventHandler.getInstance().getNonePausedTicks() / 20 % PREVIEW_POOL_SIZE);
+        final MaterialTextureData[] previews = PREVIEWS.computeIfAbsent(block, key -> new MaterialTextureData[PREVIEW_POOL_SIZE]);
+        MaterialTextureData preview = previews[slot];
+        if (preview == null)
+        {
+            preview = generatePreviewTextureDataFrom(block, materiallyTexturedBlock, slot);
+            previews[slot] = preview;
+        }
+
+        return preview;
+    }
+
+    /**
+     * Drops the cached material candidates and previews, needs to be called when the tags are reloaded.
+     */
+    public static void onTagsUpdated()
+    {
+        CANDIDATES.clear();
+        PREVIEWS.clear();
+    }
+
+    private static MaterialTextureData generatePreviewTextureDataFrom(final Block block, final IMateriallyTexturedBlock materiallyTexturedBlock, final int slot)
+    {
         try {
-            final MaterialTextureData newData = new MaterialTextureData();
+            final Map<ResourceLocation, Block> textureData = new HashMap<>();
 
             int localOffset = ((ForgeRegistry<Block>) ForgeRegistries.BLOCKS).getID(block);
             int offsetIndex = 0;
             for (IMateriallyTexturedBlockComponent component : materiallyTexturedBlock.getComponents())
             {
-                final List<Block> candidates = new ArrayList<>(
-                  StreamSupport
-                    .stream(BuiltInRegistries.BLOCK.getTagOrEmpty(component.getValidSkins()).spliterator(), false)
-                    .map(Holder::value).toList());
-                if (candidates.isEmpty())
+                final Block[] candidates = getCandidates(component.getValidSkins());
+                if (candidates.length == 0)
                 {
                     continue;
                 }
 
-                final int index = (int) ((ClientTickEventHandler.getInstance().getNonePausedTicks() / 20 + (offsetIndex += localOffset)) % candidates.size());
-                final Block texture = candidates.get(index);
-                newData.getTexturedComponents().put(component.getId(), texture);
+                final int index = Math.floorMod(slot + (offsetIndex += localOffset), candidates.length);
+                textureData.put(component.getId(), candidates[index]);
             }
 
-            return newData;
+            return MaterialTextureData.of(textureData);
         }
         catch (Exception e)
         {
             return MaterialTextureData.EMPTY;
         }
     }
+
+    private static Block[] getCandidates(final TagKey<Block> tag)
+    {
+        return CANDIDATES.computeIfAbsent(tag, key -> StreamSupport
+                                                        .stream(BuiltInRegistries.BLOCK.getTagOrEmpty(key).spliterator(), false)
+                                                        .map(Holder::value)
+                                                        .toArray(Block[]::new));
+    }
 }
@@ -0,0 +1,54 @@
+package com.ldtteam.domumornamentum.util;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.shapes.Shapes;
+import net.minecraft.world.phys.shapes.VoxelShape;
+
+import java.util.function.Function;
+
+/**
+ * Immutable table which holds the shape of every state of a block.
+ * Shapes are queried for every collision, raytrace and outline check, so blocks whose shape only depends on their state compute them once up front.
+ */
+public final class ShapeTable
+{
+    private final Reference2ObjectOpenHashMap<BlockState, VoxelShape> shapes;
+
+    private ShapeTable(final Reference2ObjectOpenHashMap<BlockState, VoxelShape> shapes)
+    {
+        this.shapes = shapes;
+    }
+
+    /**
+     * Builds the shape table of the given block, its state definition needs to be created already.
+     *
+     * @param block         The block to build the table for.
+     * @param shapeFunction Computes the shape of a single state.
+     * @return The shape table.
+     */
+    public static ShapeTable of(final Block block, final Function<BlockState, VoxelShape> shapeFunction)
+    {
+        final Reference2ObjectOpenHashMap<BlockState, VoxelShape> shapes = new Reference2ObjectOpenHashMap<>(block.getStateDefinition().getPossibleStates().size());
+        for (final BlockState state : block.getStateDefinition().getPossibleStates())
+        {
+            shapes.put(state, shapeFunction.apply(state).optimize());
+        }
+
+        shapes.trim();
+        return new ShapeTable(shapes);
+    }
+
+    /**
+     * Gets the shape of the given state.
+     *
+     * @param state The state.
+     * @return The shape of the state, a full block if the state does not belong to the block of this table.
+     */
+    public VoxelShape get(final BlockState state)
+    {
+        final VoxelShape shape = shapes.get(state);
+        return shape == null ? Shapes.block() : shape;
+    }
+}
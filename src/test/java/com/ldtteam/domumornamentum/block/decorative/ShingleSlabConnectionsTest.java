@@ -0,0 +1,82 @@
+package com.ldtteam.domumornamentum.block.decorative;
+
+import com.ldtteam.domumornamentum.block.types.ShingleSlabShapeType;
+import net.minecraft.core.Direction;
+import org.junit.jupiter.api.Test;
+
+import static com.ldtteam.domumornamentum.block.decorative.ShingleSlabConnections.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShingleSlabConnectionsTest
+{
+    @Test
+    public void everyConnectionSetSurvivesEncoding()
+    {
+        for (int connections = NONE; connections <= ALL; connections++)
+        {
+            for (final Direction currentFacing : Direction.Plane.HORIZONTAL)
+            {
+                final ShingleSlabShapeType shape = getShape(connections);
+                final Direction facing = getFacing(connections, currentFacing);
+                assertEquals(connections, decode(shape, facing), "Connections " + connections + " encoded as " + shape + " facing " + facing);
+            }
+        }
+    }
+
+    @Test
+    public void shapesMatchTheAmountOfConnections()
+    {
+        assertEquals(ShingleSlabShapeType.TOP, getShape(NONE));
+        assertEquals(ShingleSlabShapeType.ONE_WAY, getShape(WEST_CONNECTION));
+        assertEquals(ShingleSlabShapeType.TWO_WAY, getShape(NORTH_CONNECTION | SOUTH_CONNECTION));
+        assertEquals(ShingleSlabShapeType.TWO_WAY, getShape(EAST_CONNECTION | WEST_CONNECTION));
+        assertEquals(ShingleSlabShapeType.CURVED, getShape(NORTH_CONNECTION | EAST_CONNECTION));
+        assertEquals(ShingleSlabShapeType.THREE_WAY, getShape(NORTH_CONNECTION | EAST_CONNECTION | WEST_CONNECTION));
+        assertEquals(ShingleSlabShapeType.FOUR_WAY, getShape(ALL));
+    }
+
+    @Test
+    public void facingIsKeptWhenItEncodesNothing()
+    {
+        assertEquals(Direction.EAST, getFacing(NONE, Direction.EAST));
+        assertEquals(Direction.SOUTH, getFacing(ALL, Direction.SOUTH));
+    }
+
+    @Test
+    public void curvedShapesFaceAwayFromTheirConnections()
+    {
+        assertEquals(Direction.WEST, getFacing(NORTH_CONNECTION | EAST_CONNECTION, Direction.NORTH));
+        assertEquals(Direction.SOUTH, getFacing(NORTH_CONNECTION | WEST_CONNECTION, Direction.NORTH));
+        assertEquals(Direction.NORTH, getFacing(SOUTH_CONNECTION | EAST_CONNECTION, Direction.NORTH));
+        assertEquals(Direction.EAST, getFacing(SOUTH_CONNECTION | WEST_CONNECTION, Direction.NORTH));
+    }
+
+    @Test
+    public void everyStateDecodesToItsCanonicalEncoding()
+    {
+        for (final ShingleSlabShapeType shape : ShingleSlabShapeType.values())
+        {
+            for (final Direction facing : Direction.Plane.HORIZONTAL)
+            {
+                final int connections = decode(shape, facing);
+                assertEquals(shape, getShape(connections), "Shape " + shape + " facing " + facing);
+                assertEquals(connections, decode(getShape(connections), getFacing(connections, facing)));
+            }
+        }
+    }
+
+    @Test
+    public void verticalDirectionsHaveNoConnection()
+    {
+        assertEquals(NONE, ShingleSlabConnections.of(Direction.UP));
+        assertEquals(NONE, ShingleSlabConnections.of(Direction.DOWN));
+        assertEquals(ALL, ShingleSlabConnections.of(Direction.NORTH) | ShingleSlabConnections.of(Direction.SOUTH) | ShingleSlabConnections.of(Direction.EAST) | ShingleSlabConnections.of(Direction.WEST));
+    }
+
+    @Test
+    public void bitsOutsideOfTheHorizontalConnectionsAreIgnored()
+    {
+        assertEquals(ShingleSlabShapeType.ONE_WAY, getShape(NORTH_CONNECTION | 16));
+        assertEquals(Direction.NORTH, getFacing(NORTH_CONNECTION | 16, Direction.EAST));
+    }
+}
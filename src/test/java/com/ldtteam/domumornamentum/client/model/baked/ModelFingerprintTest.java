@@ -0,0 +1,71 @@
+package com.ldtteam.domumornamentum.client.model.baked;
+
+import org.joml.Matrix4f;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class ModelFingerprintTest
+{
+    private static final String              MODEL      = "domum_ornamentum:block/shingle";
+    private static final Map<String, String> COMPONENTS = Map.of("domum_ornamentum:roof", "minecraft:oak_planks", "domum_ornamentum:support", "minecraft:stone");
+
+    @Test
+    public void rotationsOfTheSameMaterialsHaveDifferentFingerprints()
+    {
+        final Matrix4f north = new Matrix4f();
+        final Matrix4f east = new Matrix4f().rotateY((float) Math.toRadians(-90));
+        final Matrix4f south = new Matrix4f().rotateY((float) Math.toRadians(-180));
+
+        final long northFingerprint = ModelFingerprint.of(MODEL, north, false, 0, COMPONENTS);
+        assertNotEquals(northFingerprint, ModelFingerprint.of(MODEL, east, false, 0, COMPONENTS));
+        assertNotEquals(northFingerprint, ModelFingerprint.of(MODEL, south, false, 0, COMPONENTS));
+        assertNotEquals(ModelFingerprint.of(MODEL, east, false, 0, COMPONENTS), ModelFingerprint.of(MODEL, south, false, 0, COMPONENTS));
+    }
+
+    @Test
+    public void uvLockChangesTheFingerprint()
+    {
+        final Matrix4f east = new Matrix4f().rotateY((float) Math.toRadians(-90));
+        assertNotEquals(ModelFingerprint.of(MODEL, east, false, 0, COMPONENTS), ModelFingerprint.of(MODEL, east, true, 0, COMPONENTS));
+    }
+
+    @Test
+    public void layerChangesTheFingerprint()
+    {
+        assertNotEquals(ModelFingerprint.of(MODEL, new Matrix4f(), false, 0, COMPONENTS), ModelFingerprint.of(MODEL, new Matrix4f(), false, 3, COMPONENTS));
+    }
+
+    @Test
+    public void equalRotationsWithRoundingErrorsHaveEqualFingerprints()
+    {
+        final Matrix4f quarterTurn = new Matrix4f().rotateY((float) Math.toRadians(-90));
+        final Matrix4f twoEighthTurns = new Matrix4f().rotateY((float) Math.toRadians(-45)).rotateY((float) Math.toRadians(-45));
+        assertEquals(ModelFingerprint.of(MODEL, quarterTurn, false, 0, COMPONENTS), ModelFingerprint.of(MODEL, twoEighthTurns, false, 0, COMPONENTS));
+    }
+
+    @Test
+    public void componentOrderDoesNotChangeTheFingerprint()
+    {
+        final Map<String, String> reversed = new LinkedHashMap<>();
+        reversed.put("domum_ornamentum:support", "minecraft:stone");
+        reversed.put("domum_ornamentum:roof", "minecraft:oak_planks");
+
+        final Map<String, String> ordered = new LinkedHashMap<>();
+        ordered.put("domum_ornamentum:roof", "minecraft:oak_planks");
+        ordered.put("domum_ornamentum:support", "minecraft:stone");
+
+        assertEquals(ModelFingerprint.of(MODEL, new Matrix4f(), false, 0, reversed), ModelFingerprint.of(MODEL, new Matrix4f(), false, 0, ordered));
+    }
+
+    @Test
+    public void materialsChangeTheFingerprint()
+    {
+        final Map<String, String> otherMaterials = Map.of("domum_ornamentum:roof", "minecraft:spruce_planks", "domum_ornamentum:support", "minecraft:stone");
+        assertNotEquals(ModelFingerprint.of(MODEL, new Matrix4f(), false, 0, COMPONENTS), ModelFingerprint.of(MODEL, new Matrix4f(), false, 0, otherMaterials));
+    }
+}
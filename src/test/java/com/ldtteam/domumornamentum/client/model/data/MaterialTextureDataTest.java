@@ -0,0 +1,88 @@
+package com.ldtteam.domumornamentum.client.model.data;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.block.Block;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class MaterialTextureDataTest
+{
+    private static final ResourceLocation FRAME  = new ResourceLocation("domum_ornamentum", "test_frame");
+    private static final ResourceLocation CENTER = new ResourceLocation("domum_ornamentum", "test_center");
+    private static final ResourceLocation UNUSED = new ResourceLocation("domum_ornamentum", "test_unused");
+
+    private final Block oak   = mock(Block.class);
+    private final Block stone = mock(Block.class);
+
+    @Test
+    public void equalMaterialsAreInternedToTheSameInstance()
+    {
+        final Map<ResourceLocation, Block> ordered = new LinkedHashMap<>();
+        ordered.put(FRAME, oak);
+        ordered.put(CENTER, stone);
+
+        final Map<ResourceLocation, Block> reversed = new LinkedHashMap<>();
+        reversed.put(CENTER, stone);
+        reversed.put(FRAME, oak);
+
+        assertSame(MaterialTextureData.of(ordered), MaterialTextureData.of(reversed));
+    }
+
+    @Test
+    public void differentMaterialsAreDifferentInstances()
+    {
+        final MaterialTextureData first = MaterialTextureData.of(Map.of(FRAME, oak, CENTER, stone));
+        final MaterialTextureData second = MaterialTextureData.of(Map.of(FRAME, stone, CENTER, oak));
+
+        assertNotSame(first, second);
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    public void emptyMaterialsAreTheEmptyInstance()
+    {
+        assertSame(MaterialTextureData.EMPTY, MaterialTextureData.of(Map.of()));
+
+        final Map<ResourceLocation, Block> onlyNulls = new HashMap<>();
+        onlyNulls.put(FRAME, null);
+        assertSame(MaterialTextureData.EMPTY, MaterialTextureData.of(onlyNulls));
+        assertTrue(MaterialTextureData.of(onlyNulls).isEmpty());
+    }
+
+    @Test
+    public void missingComponentsDoNotChangeTheInstance()
+    {
+        final Map<ResourceLocation, Block> withNull = new HashMap<>();
+        withNull.put(FRAME, oak);
+        withNull.put(CENTER, null);
+
+        assertSame(MaterialTextureData.of(Map.of(FRAME, oak)), MaterialTextureData.of(withNull));
+    }
+
+    @Test
+    public void texturedComponentsMatchTheSourceMap()
+    {
+        final Map<ResourceLocation, Block> components = Map.of(FRAME, oak, CENTER, stone);
+        final MaterialTextureData data = MaterialTextureData.of(components);
+
+        assertEquals(components, data.getTexturedComponents());
+        assertEquals(2, data.getTexturedComponents().size());
+        assertSame(stone, data.getTexturedComponents().get(CENTER));
+        assertNull(data.getTexturedComponents().get(UNUSED));
+        assertFalse(data.getTexturedComponents().containsKey(UNUSED));
+    }
+
+    @Test
+    public void texturedComponentsCanNotBeChanged()
+    {
+        final MaterialTextureData data = MaterialTextureData.of(Map.of(FRAME, oak));
+        assertThrows(UnsupportedOperationException.class, () -> data.getTexturedComponents().put(CENTER, stone));
+        assertSame(MaterialTextureData.of(Map.of(FRAME, oak)), data);
+    }
+}
@@ -0,0 +1,188 @@
+package com.ldtteam.domumornamentum.container;
+
+import com.google.common.collect.Lists;
+import com.ldtteam.domumornamentum.recipe.architectscutter.ArchitectsCutterRecipe;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.block.Block;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArchitectsCutterRecipeIndexTest
+{
+    private static final TagKey<Block> FRAME = tag("frame");
+    private static final TagKey<Block> PANEL = tag("panel");
+    private static final TagKey<Block> ROOF  = tag("roof");
+
+    private static final List<TagKey<Block>> ALL_TAGS = List.of(FRAME, PANEL, ROOF);
+
+    @Test
+    public void recipesMatchWhenEverySlotHoldsAValidMaterial()
+    {
+        final Map<ResourceLocation, List<TagKey<Block>>> blocks = Map.of(
+          block("timber_frame"), List.of(FRAME, PANEL),
+          block("shingle"), List.of(ROOF, FRAME, PANEL));
+        final ArchitectsCutterRecipeIndex index = createIndex(blocks, recipe("timber_frame"), recipe("shingle"));
+
+        assertEquals(List.of(block("timber_frame")), getBlockNames(index.getRecipesForMaterials(materials(Set.of(FRAME), Set.of(PANEL)))));
+        assertEquals(List.of(block("shingle")), getBlockNames(index.getRecipesForMaterials(materials(Set.of(ROOF), Set.of(FRAME), Set.of(PANEL)))));
+        assertEquals(List.of(), index.getRecipesForMaterials(materials(Set.of(PANEL), Set.of(FRAME))));
+    }
+
+    @Test
+    public void emptyAndMissingSlotsRejectRecipesWhichNeedThem()
+    {
+        final ArchitectsCutterRecipeIndex index = createIndex(Map.of(block("timber_frame"), List.of(FRAME, PANEL)), recipe("timber_frame"));
+
+        assertEquals(List.of(), index.getRecipesForMaterials(materials(Set.of(FRAME), null)));
+        assertEquals(List.of(), index.getRecipesForMaterials(materials(Set.of(FRAME))));
+        assertEquals(List.of(), index.getRecipesForMaterials(List.of()));
+    }
+
+    @Test
+    public void extraSlotsAreIgnored()
+    {
+        final ArchitectsCutterRecipeIndex index = createIndex(Map.of(block("post"), List.of(FRAME)), recipe("post"));
+
+        assertEquals(List.of(block("post")), getBlockNames(index.getRecipesForMaterials(materials(Set.of(FRAME), Set.of(ROOF), null))));
+    }
+
+    @Test
+    public void materialsInMultipleTagsMatchAllOfThem()
+    {
+        final ArchitectsCutterRecipeIndex index = createIndex(
+          Map.of(block("a"), List.of(FRAME), block("b"), List.of(PANEL), block("c"), List.of(ROOF)),
+          recipe("a"), recipe("b"), recipe("c"));
+
+        assertEquals(List.of(block("a"), block("b")), getBlockNames(index.getRecipesForMaterials(materials(Set.of(FRAME, PANEL)))));
+    }
+
+    @Test
+    public void recipesOfMissingBlocksNeverMatch()
+    {
+        final ArchitectsCutterRecipeIndex index = createIndex(Map.of(block("post"), List.of(FRAME)), recipe("post"), recipe("removed"));
+
+        assertEquals(List.of(block("post")), getBlockNames(index.getRecipesForMaterials(materials(Set.of(FRAME)))));
+    }
+
+    @Test
+    public void resultsAreSortedByBlockAndId()
+    {
+        final ArchitectsCutterRecipe second = new ArchitectsCutterRecipe(new ResourceLocation("domum_ornamentum", "post_b"), block("post"), 1, new CompoundTag());
+        final ArchitectsCutterRecipe first = new ArchitectsCutterRecipe(new ResourceLocation("domum_ornamentum", "post_a"), block("post"), 1, new CompoundTag());
+        final ArchitectsCutterRecipeIndex index = createIndex(
+          Map.of(block("post"), List.of(FRAME), block("beam"), List.of(FRAME)),
+          second, recipe("beam"), first);
+
+        assertEquals(List.of(recipe("beam").getId(), first.getId(), second.getId()),
+          index.getRecipesForMaterials(materials(Set.of(FRAME))).stream().map(ArchitectsCutterRecipe::getId).toList());
+    }
+
+    @Test
+    public void indexAgreesWithCheckingEveryRecipe()
+    {
+        final Random random = new Random(42);
+        final Map<ResourceLocation, List<TagKey<Block>>> blocks = new HashMap<>();
+        final List<ArchitectsCutterRecipe> recipes = Lists.newArrayList();
+        for (int i = 0; i < 40; i++)
+        {
+            final ResourceLocation blockName = block("block_" + i);
+            recipes.add(new ArchitectsCutterRecipe(blockName, 1));
+
+            //Every fifth block is missing.
+            if (i % 5 != 0)
+            {
+                final List<TagKey<Block>> tags = Lists.newArrayList();
+                final int slots = 1 + random.nextInt(3);
+                for (int slot = 0; slot < slots; slot++)
+                {
+                    tags.add(ALL_TAGS.get(random.nextInt(ALL_TAGS.size())));
+                }
+                blocks.put(blockName, tags);
+            }
+        }
+
+        final ArchitectsCutterRecipeIndex index = new ArchitectsCutterRecipeIndex(recipes, blocks::get);
+        final List<ArchitectsCutterRecipe> sortedRecipes = Lists.newArrayList(recipes);
+        sortedRecipes.sort(Comparator.comparing(ArchitectsCutterRecipe::getBlockName).thenComparing(ArchitectsCutterRecipe::getId));
+
+        for (int attempt = 0; attempt < 500; attempt++)
+        {
+            final List<Predicate<TagKey<Block>>> materials = Lists.newArrayList();
+            for (int slot = random.nextInt(4); slot > 0; slot--)
+            {
+                final Set<TagKey<Block>> tags = new HashSet<>();
+                for (final TagKey<Block> tag : ALL_TAGS)
+                {
+                    if (random.nextInt(3) == 0)
+                        tags.add(tag);
+                }
+                materials.add(random.nextInt(5) == 0 ? null : tags::contains);
+            }
+
+            final List<ArchitectsCutterRecipe> expected = sortedRecipes.stream().filter(recipe -> matches(blocks.get(recipe.getBlockName()), materials)).toList();
+            assertEquals(expected, index.getRecipesForMaterials(materials));
+        }
+    }
+
+    /**
+     * Checks a single recipe the way {@link ArchitectsCutterRecipe#matches} does.
+     */
+    private static boolean matches(final List<TagKey<Block>> componentTags, final List<Predicate<TagKey<Block>>> materials)
+    {
+        if (componentTags == null)
+            return false;
+
+        for (int slot = 0; slot < componentTags.size(); slot++)
+        {
+            final Predicate<TagKey<Block>> material = slot < materials.size() ? materials.get(slot) : null;
+            if (material == null || !material.test(componentTags.get(slot)))
+                return false;
+        }
+
+        return true;
+    }
+
+    private static ArchitectsCutterRecipeIndex createIndex(final Map<ResourceLocation, List<TagKey<Block>>> blocks, final ArchitectsCutterRecipe... recipes)
+    {
+        return new ArchitectsCutterRecipeIndex(List.of(recipes), blocks::get);
+    }
+
+    @SafeVarargs
+    private static List<Predicate<TagKey<Block>>> materials(final Set<TagKey<Block>>... slots)
+    {
+        final List<Predicate<TagKey<Block>>> materials = Lists.newArrayList();
+        for (final Set<TagKey<Block>> tags : slots)
+        {
+            materials.add(tags == null ? null : tags::contains);
+        }
+
+        return materials;
+    }
+
+    private static List<ResourceLocation> getBlockNames(final List<ArchitectsCutterRecipe> recipes)
+    {
+        return recipes.stream().map(ArchitectsCutterRecipe::getBlockName).toList();
+    }
+
+    private static ArchitectsCutterRecipe recipe(final String name)
+    {
+        return new ArchitectsCutterRecipe(block(name), 1);
+    }
+
+    private static ResourceLocation block(final String name)
+    {
+        return new ResourceLocation("domum_ornamentum", name);
+    }
+
+    private static TagKey<Block> tag(final String name)
+    {
+        return TagKey.create(Registries.BLOCK, new ResourceLocation("domum_ornamentum", name));
+    }
+}
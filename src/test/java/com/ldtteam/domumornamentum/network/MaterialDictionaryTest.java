@@ -0,0 +1,121 @@
+package com.ldtteam.domumornamentum.network;
+
+import com.ldtteam.domumornamentum.client.model.data.MaterialTextureData;
+import com.ldtteam.domumornamentum.client.network.ClientMaterialDictionary;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.block.Block;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class MaterialDictionaryTest
+{
+    private static final ResourceLocation FRAME = new ResourceLocation("domum_ornamentum", "test_frame");
+
+    private final UUID player      = UUID.randomUUID();
+    private final UUID otherPlayer = UUID.randomUUID();
+
+    private final MaterialTextureData oak   = MaterialTextureData.of(Map.of(FRAME, mock(Block.class)));
+    private final MaterialTextureData stone = MaterialTextureData.of(Map.of(FRAME, mock(Block.class)));
+
+    @BeforeEach
+    public void setUp()
+    {
+        ClientMaterialDictionary.getInstance().clear();
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        MaterialDictionary.getInstance().remove(player);
+        MaterialDictionary.getInstance().remove(otherPlayer);
+        ClientMaterialDictionary.getInstance().clear();
+    }
+
+    @Test
+    public void combinationsAreOnlyNewOnce()
+    {
+        final List<MaterialTextureData> newEntries = new ArrayList<>();
+        final int oakId = MaterialDictionary.getInstance().getOrAssign(player, oak, newEntries);
+        final int stoneId = MaterialDictionary.getInstance().getOrAssign(player, stone, newEntries);
+        final int oakIdAgain = MaterialDictionary.getInstance().getOrAssign(player, oak, newEntries);
+
+        assertEquals(0, oakId);
+        assertEquals(1, stoneId);
+        assertEquals(oakId, oakIdAgain);
+        assertEquals(List.of(oak, stone), newEntries);
+    }
+
+    @Test
+    public void playersHaveSeparateIds()
+    {
+        final List<MaterialTextureData> newEntries = new ArrayList<>();
+        MaterialDictionary.getInstance().getOrAssign(player, oak, newEntries);
+        final int stoneId = MaterialDictionary.getInstance().getOrAssign(otherPlayer, stone, newEntries);
+
+        assertEquals(0, stoneId);
+        assertEquals(2, newEntries.size());
+    }
+
+    @Test
+    public void removedPlayersStartOver()
+    {
+        MaterialDictionary.getInstance().getOrAssign(player, oak, new ArrayList<>());
+        MaterialDictionary.getInstance().remove(player);
+
+        final List<MaterialTextureData> newEntries = new ArrayList<>();
+        assertEquals(0, MaterialDictionary.getInstance().getOrAssign(player, stone, newEntries));
+        assertEquals(List.of(stone), newEntries);
+    }
+
+    @Test
+    public void clientResolvesTheIdsOfTheServer()
+    {
+        final List<MaterialTextureData> blocks = List.of(oak, stone, oak, stone, oak);
+        final List<MaterialTextureData> newEntries = new ArrayList<>();
+        final int[] ids = new int[blocks.size()];
+        for (int i = 0; i < ids.length; i++)
+        {
+            final int newEntryCount = newEntries.size();
+            ids[i] = MaterialDictionary.getInstance().getOrAssign(player, blocks.get(i), newEntries);
+            if (newEntries.size() > newEntryCount)
+            {
+                ClientMaterialDictionary.getInstance().register(ids[i], blocks.get(i));
+            }
+        }
+
+        for (int i = 0; i < ids.length; i++)
+        {
+            assertSame(blocks.get(i), ClientMaterialDictionary.getInstance().get(ids[i]));
+        }
+    }
+
+    @Test
+    public void unknownClientIdsAreReportedAsMissing()
+    {
+        ClientMaterialDictionary.getInstance().register(2, oak);
+
+        assertSame(oak, ClientMaterialDictionary.getInstance().get(2));
+        assertNull(ClientMaterialDictionary.getInstance().get(0));
+        assertNull(ClientMaterialDictionary.getInstance().get(1));
+        assertNull(ClientMaterialDictionary.getInstance().get(3));
+        assertNull(ClientMaterialDictionary.getInstance().get(-1));
+    }
+
+    @Test
+    public void clearedClientDictionaryForgetsAllIds()
+    {
+        ClientMaterialDictionary.getInstance().register(0, oak);
+        ClientMaterialDictionary.getInstance().clear();
+
+        assertNull(ClientMaterialDictionary.getInstance().get(0));
+    }
+}
@@ -0,0 +1,134 @@
+package com.ldtteam.domumornamentum.util;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkMaterialPaletteTest
+{
+    private static final String MATERIALLY_TEXTURED = "domum_ornamentum:materially_textured";
+    private static final String OTHER               = "minecraft:chest";
+
+    @Test
+    public void expandRestoresTheCompactedChunk()
+    {
+        final CompoundTag chunk = createChunk(
+          blockEntity(MATERIALLY_TEXTURED, 0, materials("minecraft:oak_planks", "minecraft:stone")),
+          blockEntity(MATERIALLY_TEXTURED, 1, materials("minecraft:spruce_planks", "minecraft:stone")),
+          blockEntity(MATERIALLY_TEXTURED, 2, materials("minecraft:oak_planks", "minecraft:stone")),
+          blockEntity(OTHER, 3, materials("minecraft:oak_planks", "minecraft:stone"))
+        );
+        final CompoundTag original = chunk.copy();
+
+        ChunkMaterialPalette.compact(chunk, MATERIALLY_TEXTURED);
+        assertTrue(ChunkMaterialPalette.hasPalette(chunk));
+        assertNotEquals(original, chunk);
+
+        ChunkMaterialPalette.expand(chunk);
+        assertFalse(ChunkMaterialPalette.hasPalette(chunk));
+        assertEquals(original, chunk);
+    }
+
+    @Test
+    public void equalMaterialsAreStoredOnce()
+    {
+        final CompoundTag chunk = createChunk(
+          blockEntity(MATERIALLY_TEXTURED, 0, materials("minecraft:oak_planks", "minecraft:stone")),
+          blockEntity(MATERIALLY_TEXTURED, 1, materials("minecraft:spruce_planks", "minecraft:stone")),
+          blockEntity(MATERIALLY_TEXTURED, 2, materials("minecraft:oak_planks", "minecraft:stone"))
+        );
+
+        ChunkMaterialPalette.compact(chunk, MATERIALLY_TEXTURED);
+
+        final ListTag palette = findPalette(chunk);
+        assertEquals(2, palette.size());
+        final ListTag blockEntities = chunk.getList("block_entities", Tag.TAG_COMPOUND);
+        for (int i = 0; i < blockEntities.size(); i++)
+        {
+            assertFalse(blockEntities.getCompound(i).contains("textureData"));
+        }
+    }
+
+    @Test
+    public void otherBlockEntitiesAreNotTouched()
+    {
+        final CompoundTag other = blockEntity(OTHER, 0, materials("minecraft:oak_planks", "minecraft:stone"));
+        final CompoundTag chunk = createChunk(other.copy());
+
+        ChunkMaterialPalette.compact(chunk, MATERIALLY_TEXTURED);
+
+        assertFalse(ChunkMaterialPalette.hasPalette(chunk));
+        assertEquals(other, chunk.getList("block_entities", Tag.TAG_COMPOUND).getCompound(0));
+    }
+
+    @Test
+    public void compactingTwiceKeepsTheFirstPalette()
+    {
+        final CompoundTag chunk = createChunk(blockEntity(MATERIALLY_TEXTURED, 0, materials("minecraft:oak_planks", "minecraft:stone")));
+        final CompoundTag original = chunk.copy();
+
+        ChunkMaterialPalette.compact(chunk, MATERIALLY_TEXTURED);
+        ChunkMaterialPalette.compact(chunk, MATERIALLY_TEXTURED);
+        ChunkMaterialPalette.expand(chunk);
+
+        assertEquals(original, chunk);
+    }
+
+    @Test
+    public void chunksWithoutPaletteAreNotChanged()
+    {
+        final CompoundTag chunk = createChunk(blockEntity(MATERIALLY_TEXTURED, 0, materials("minecraft:oak_planks", "minecraft:stone")));
+        final CompoundTag original = chunk.copy();
+
+        assertFalse(ChunkMaterialPalette.hasPalette(chunk));
+        ChunkMaterialPalette.expand(chunk);
+
+        assertEquals(original, chunk);
+    }
+
+    private static ListTag findPalette(final CompoundTag chunk)
+    {
+        for (final String key : chunk.getAllKeys())
+        {
+            if (!key.equals("block_entities") && chunk.contains(key, Tag.TAG_LIST))
+                return chunk.getList(key, Tag.TAG_COMPOUND);
+        }
+
+        return fail("The chunk has no palette.");
+    }
+
+    private static CompoundTag createChunk(final CompoundTag... blockEntities)
+    {
+        final ListTag list = new ListTag();
+        for (final CompoundTag blockEntity : blockEntities)
+        {
+            list.add(blockEntity);
+        }
+
+        final CompoundTag chunk = new CompoundTag();
+        chunk.put("block_entities", list);
+        return chunk;
+    }
+
+    private static CompoundTag blockEntity(final String id, final int x, final CompoundTag materials)
+    {
+        final CompoundTag blockEntity = new CompoundTag();
+        blockEntity.putString("id", id);
+        blockEntity.putInt("x", x);
+        blockEntity.putInt("y", 64);
+        blockEntity.putInt("z", 0);
+        blockEntity.put("textureData", materials);
+        return blockEntity;
+    }
+
+    private static CompoundTag materials(final String frame, final String center)
+    {
+        final CompoundTag materials = new CompoundTag();
+        materials.putString("domum_ornamentum:frame", frame);
+        materials.putString("domum_ornamentum:center", center);
+        return materials;
+    }
+}